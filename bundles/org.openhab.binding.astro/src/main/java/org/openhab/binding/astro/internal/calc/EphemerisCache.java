@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Binding wide cache of calculated astro data, so things at the same location share their calculations.
+ *
+ * Results are identified by a key of the calculation, its location and the point in time or date it has been
+ * calculated for. The least recently used results are discarded once the cache is full. The cached objects are shared
+ * by all things and must not be modified, except for the current sun phase which is the same for all of them.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class EphemerisCache {
+    private static final int MAX_ENTRIES = 256;
+
+    private final Map<List<Object>, Object> entries = Collections
+            .synchronizedMap(new LinkedHashMap<List<Object>, Object>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    /**
+     * Returns the cached result for the key or calculates it. The calculation is done outside of the lock, if two
+     * things calculate the same result at the same time, both get the one which has been cached first.
+     *
+     * @param calculation the calculation to do if no result is cached
+     * @param key the parts identifying the result, e.g. its kind, location and time
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Supplier<T> calculation, Object... key) {
+        List<Object> cacheKey = Arrays.asList(key);
+        Object result = entries.get(cacheKey);
+        if (result == null) {
+            T calculated = calculation.get();
+            result = entries.putIfAbsent(cacheKey, calculated);
+            if (result == null) {
+                return calculated;
+            }
+        }
+        return (T) result;
+    }
+
+    /**
+     * Returns the number of cached results.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
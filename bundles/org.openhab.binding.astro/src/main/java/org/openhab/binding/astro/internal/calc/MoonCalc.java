@@ -113,6 +113,15 @@ public class MoonCalc {
         distance.setDistance(getDistance(julianDate));
     }
 
+    /**
+     * Calculates the moon position (azimuth and elevation) only.
+     */
+    public Position getMoonPosition(Calendar calendar, double latitude, double longitude) {
+        Moon moon = new Moon();
+        setAzimuthElevationZodiac(DateTimeUtils.dateToJulianDate(calendar), latitude, longitude, moon);
+        return moon.getPosition();
+    }
+
     /**
      * Calculates the age and the current phase.
      */
@@ -16,7 +16,10 @@ import static org.openhab.core.thing.ThingStatus.*;
 import static org.openhab.core.thing.type.ChannelKind.TRIGGER;
 import static org.openhab.core.types.RefreshType.REFRESH;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -26,7 +29,9 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -38,6 +43,7 @@ import org.apache.commons.lang.time.DateFormatUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.astro.internal.action.AstroActions;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
 import org.openhab.binding.astro.internal.config.AstroChannelConfig;
 import org.openhab.binding.astro.internal.config.AstroThingConfig;
 import org.openhab.binding.astro.internal.job.Job;
@@ -70,6 +76,9 @@ public abstract class AstroThingHandler extends BaseThingHandler {
 
     private static final String DAILY_MIDNIGHT = "30 0 0 * * ? *";
 
+    // a positional job started this late after the beginning of its slot is still calculated for the slot
+    private static final long SLOT_TOLERANCE_MILLIS = 1000;
+
     /** Logger Instance */
     protected final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
@@ -78,25 +87,32 @@ public abstract class AstroThingHandler extends BaseThingHandler {
 
     protected final TimeZoneProvider timeZoneProvider;
 
+    protected final EphemerisCache ephemerisCache;
+
     private final Lock monitor = new ReentrantLock();
 
     private final Set<ScheduledFuture<?>> scheduledFutures = new HashSet<>();
 
     private boolean linkedPositionalChannels;
 
+    private final Map<String, ChannelAccessor> channelAccessors = new ConcurrentHashMap<>();
+
     protected AstroThingConfig thingConfig = new AstroThingConfig();
 
     private @Nullable ScheduledCompletableFuture<?> dailyJob;
 
-    public AstroThingHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider) {
+    public AstroThingHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider,
+            final EphemerisCache ephemerisCache) {
         super(thing);
         this.cronScheduler = scheduler;
         this.timeZoneProvider = timeZoneProvider;
+        this.ephemerisCache = ephemerisCache;
     }
 
     @Override
     public void initialize() {
         logger.debug("Initializing thing {}", getThing().getUID());
+        channelAccessors.clear();
         String thingUid = getThing().getUID().toString();
         thingConfig = getConfigAs(AstroThingConfig.class);
         boolean validConfig = true;
@@ -169,21 +185,38 @@ public abstract class AstroThingHandler extends BaseThingHandler {
     public void publishChannelIfLinked(ChannelUID channelUID) {
         Planet planet = getPlanet();
         if (isLinked(channelUID.getId()) && planet != null) {
-            final Channel channel = getThing().getChannel(channelUID.getId());
-            if (channel == null) {
-                logger.error("Cannot find channel for {}", channelUID);
-                return;
-            }
             try {
-                AstroChannelConfig config = channel.getConfiguration().as(AstroChannelConfig.class);
-                updateState(channelUID,
-                        PropertyUtils.getState(channelUID, config, planet, timeZoneProvider.getTimeZone()));
+                ChannelAccessor channelAccessor = getChannelAccessor(channelUID, planet);
+                if (channelAccessor == null) {
+                    logger.error("Cannot find channel for {}", channelUID);
+                    return;
+                }
+                updateState(channelUID, PropertyUtils.getState(channelAccessor.getValue(planet),
+                        channelAccessor.config, timeZoneProvider.getTimeZone()));
             } catch (Exception ex) {
                 logger.error("Can't update state for channel {} : {}", channelUID, ex.getMessage(), ex);
             }
         }
     }
 
+    /**
+     * Returns the accessor of the channel, which is resolved on its first publishing after initialization or
+     * linking.
+     */
+    private @Nullable ChannelAccessor getChannelAccessor(ChannelUID channelUID, Planet planet) throws Exception {
+        ChannelAccessor channelAccessor = channelAccessors.get(channelUID.getId());
+        if (channelAccessor == null) {
+            final Channel channel = getThing().getChannel(channelUID.getId());
+            if (channel == null) {
+                return null;
+            }
+            channelAccessor = new ChannelAccessor(PropertyUtils.getPropertyAccessor(channelUID, planet.getClass()),
+                    channel.getConfiguration().as(AstroChannelConfig.class));
+            channelAccessors.put(channelUID.getId(), channelAccessor);
+        }
+        return channelAccessor;
+    }
+
     /**
      * Schedules a positional and a daily job at midnight for Astro calculation and starts it immediately too. Removes
      * already scheduled jobs first.
@@ -207,8 +240,12 @@ public abstract class AstroThingHandler extends BaseThingHandler {
                 linkedPositionalChannels = isPositionalChannelLinked();
                 if (linkedPositionalChannels) {
                     Job positionalJob = new PositionalJob(thingUID);
-                    ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(positionalJob, 0, thingConfig.interval,
-                            TimeUnit.SECONDS);
+                    scheduledFutures.add(scheduler.schedule(positionalJob, 0, TimeUnit.SECONDS));
+                    // Align the job to multiples of the interval, so things at the same location share their slots
+                    long intervalMillis = TimeUnit.SECONDS.toMillis(thingConfig.interval);
+                    long initialDelay = intervalMillis - System.currentTimeMillis() % intervalMillis;
+                    ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(positionalJob, initialDelay,
+                            intervalMillis, TimeUnit.MILLISECONDS);
                     scheduledFutures.add(future);
                     logger.info("Scheduled {} every {} seconds", positionalJob, thingConfig.interval);
                 }
@@ -245,12 +282,14 @@ public abstract class AstroThingHandler extends BaseThingHandler {
 
     @Override
     public void channelLinked(ChannelUID channelUID) {
+        channelAccessors.remove(channelUID.getId());
         linkedChannelChange(channelUID);
         publishChannelIfLinked(channelUID);
     }
 
     @Override
     public void channelUnlinked(ChannelUID channelUID) {
+        channelAccessors.remove(channelUID.getId());
         linkedChannelChange(channelUID);
     }
 
@@ -337,6 +376,19 @@ public abstract class AstroThingHandler extends BaseThingHandler {
      */
     public abstract void publishPositionalInfo();
 
+    /**
+     * Returns the point in time the positional data is calculated for. A run of the positional job at the beginning
+     * of its slot is calculated for the beginning of the slot, any other calculation for the current second. Things
+     * at the same location calculating for the same point in time share the result through the
+     * {@link EphemerisCache}.
+     */
+    protected ZonedDateTime getPositionalTime() {
+        long now = System.currentTimeMillis();
+        long sinceSlotStart = now % TimeUnit.SECONDS.toMillis(thingConfig.interval);
+        long time = sinceSlotStart < SLOT_TOLERANCE_MILLIS ? now - sinceSlotStart : now - now % 1000;
+        return Instant.ofEpochMilli(time).atZone(ZoneId.systemDefault());
+    }
+
     /**
      * Returns the {@link Planet} instance (cannot be {@code null})
      */
@@ -368,4 +420,27 @@ public abstract class AstroThingHandler extends BaseThingHandler {
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Collections.singletonList(AstroActions.class);
     }
+
+    /**
+     * The resolved getters and the parsed configuration of a channel, so publishing it needs no reflection.
+     */
+    private static class ChannelAccessor {
+        private final MethodHandle accessor;
+        private final AstroChannelConfig config;
+
+        private ChannelAccessor(MethodHandle accessor, AstroChannelConfig config) {
+            this.accessor = accessor;
+            this.config = config;
+        }
+
+        private @Nullable Object getValue(Planet planet) throws Exception {
+            try {
+                return (Object) accessor.invokeExact((Object) planet);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
 }
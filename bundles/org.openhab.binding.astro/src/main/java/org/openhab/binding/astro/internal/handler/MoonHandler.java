@@ -16,13 +16,13 @@ import static org.openhab.binding.astro.internal.AstroBindingConstants.THING_TYP
 
 import java.time.ZonedDateTime;
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
 import org.openhab.binding.astro.internal.calc.MoonCalc;
 import org.openhab.binding.astro.internal.job.DailyJobMoon;
 import org.openhab.binding.astro.internal.job.Job;
@@ -53,19 +53,25 @@ public class MoonHandler extends AstroThingHandler {
     /**
      * Constructor
      */
-    public MoonHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider) {
-        super(thing, scheduler, timeZoneProvider);
+    public MoonHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider,
+            final EphemerisCache ephemerisCache) {
+        super(thing, scheduler, timeZoneProvider, ephemerisCache);
     }
 
     @Override
     public void publishPositionalInfo() {
-        moon = getMoonAt(ZonedDateTime.now());
+        ZonedDateTime date = getPositionalTime();
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
-        moonCalc.setPositionalInfo(Calendar.getInstance(), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, moon);
+        double lat = latitude != null ? latitude : 0;
+        double lon = longitude != null ? longitude : 0;
+        moon = ephemerisCache.get(() -> {
+            Moon newMoon = getMoonAt(date);
+            moonCalc.setPositionalInfo(GregorianCalendar.from(date), lat, lon, newMoon);
 
-        moon.getEclipse().setElevations(this, timeZoneProvider);
+            newMoon.getEclipse().setElevations(this, timeZoneProvider);
+            return newMoon;
+        }, "moon", lat, lon, date.toInstant());
 
         publishPlanet();
     }
@@ -100,11 +106,9 @@ public class MoonHandler extends AstroThingHandler {
 
     @Override
     public @Nullable Position getPositionAt(ZonedDateTime date) {
-        Moon localMoon = getMoonAt(date);
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
-        moonCalc.setPositionalInfo(GregorianCalendar.from(date), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, localMoon);
-        return localMoon.getPosition();
+        return moonCalc.getMoonPosition(GregorianCalendar.from(date), latitude != null ? latitude : 0,
+                longitude != null ? longitude : 0);
     }
 }
@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
 import org.openhab.binding.astro.internal.calc.SunCalc;
 import org.openhab.binding.astro.internal.job.DailyJobSun;
 import org.openhab.binding.astro.internal.job.Job;
@@ -55,20 +56,27 @@ public class SunHandler extends AstroThingHandler {
     /**
      * Constructor
      */
-    public SunHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider) {
-        super(thing, scheduler, timeZoneProvider);
+    public SunHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider,
+            final EphemerisCache ephemerisCache) {
+        super(thing, scheduler, timeZoneProvider, ephemerisCache);
     }
 
     @Override
     public void publishPositionalInfo() {
-        sun = getSunAt(ZonedDateTime.now());
+        ZonedDateTime date = getPositionalTime();
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
         Double altitude = thingConfig.altitude;
-        sunCalc.setPositionalInfo(Calendar.getInstance(), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, altitude != null ? altitude : 0, sun);
+        double lat = latitude != null ? latitude : 0;
+        double lon = longitude != null ? longitude : 0;
+        double alt = altitude != null ? altitude : 0;
+        sun = ephemerisCache.get(() -> {
+            Sun newSun = getSunAt(date);
+            sunCalc.setPositionalInfo(GregorianCalendar.from(date), lat, lon, alt, newSun);
 
-        sun.getEclipse().setElevations(this, timeZoneProvider);
+            newSun.getEclipse().setElevations(this, timeZoneProvider);
+            return newSun;
+        }, "sun", lat, lon, alt, thingConfig.useMeteorologicalSeason, date.toInstant());
 
         publishPlanet();
     }
@@ -104,7 +112,14 @@ public class SunHandler extends AstroThingHandler {
     }
 
     public @Nullable ZonedDateTime getEventTime(SunPhaseName sunPhase, ZonedDateTime date, boolean begin) {
-        Range eventRange = getSunAt(date).getAllRanges().get(sunPhase);
+        Double latitude = thingConfig.latitude;
+        Double longitude = thingConfig.longitude;
+        Double altitude = thingConfig.altitude;
+        // the ranges only depend on the day, so they are shared by all times of the day
+        Sun daySun = ephemerisCache.get(() -> getSunAt(date), "sunDay", latitude != null ? latitude : 0,
+                longitude != null ? longitude : 0, altitude != null ? altitude : 0,
+                thingConfig.useMeteorologicalSeason, date.toLocalDate(), date.getZone());
+        Range eventRange = daySun.getAllRanges().get(sunPhase);
         if (eventRange != null) {
             Calendar cal = begin ? eventRange.getStart() : eventRange.getEnd();
             return ZonedDateTime.ofInstant(cal.toInstant(), date.getZone());
@@ -115,7 +130,8 @@ public class SunHandler extends AstroThingHandler {
 
     @Override
     public @Nullable Position getPositionAt(ZonedDateTime date) {
-        Sun localSun = getSunAt(date);
+        // the position does not depend on the daily data, so it is calculated on its own
+        Sun localSun = new Sun();
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
         Double altitude = thingConfig.altitude;
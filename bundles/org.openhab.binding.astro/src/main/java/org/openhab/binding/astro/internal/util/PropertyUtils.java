@@ -12,6 +12,9 @@
  */
 package org.openhab.binding.astro.internal.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -52,7 +55,13 @@ public class PropertyUtils {
      */
     public static State getState(ChannelUID channelUID, AstroChannelConfig config, Object instance, ZoneId zoneId)
             throws Exception {
-        Object value = getPropertyValue(channelUID, instance);
+        return getState(getPropertyValue(channelUID, instance), config, zoneId);
+    }
+
+    /**
+     * Returns the state of a property value, e.g. read with an accessor from {@link #getPropertyAccessor}.
+     */
+    public static State getState(@Nullable Object value, AstroChannelConfig config, ZoneId zoneId) {
         if (value == null) {
             return UnDefType.UNDEF;
         } else if (value instanceof State) {
@@ -82,6 +91,26 @@ public class PropertyUtils {
         return getPropertyValue(instance, properties, 0);
     }
 
+    /**
+     * Resolves the nested getters of the channel once, e.g. getRise().getStart() for rise#start. The returned handle
+     * takes an instance of the given class and returns the property value, so reading it needs no further
+     * reflection.
+     */
+    public static MethodHandle getPropertyAccessor(ChannelUID channelUID, Class<?> instanceClass)
+            throws NoSuchMethodException, IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> type = instanceClass;
+        MethodHandle accessor = MethodHandles.identity(type);
+        for (String propertyName : channelUID.getId().split("#")) {
+            Method getter = type.getMethod(toGetterString(propertyName));
+            MethodHandle handle = lookup.unreflect(getter);
+            accessor = MethodHandles.filterReturnValue(accessor,
+                    handle.asType(MethodType.methodType(getter.getReturnType(), type)));
+            type = getter.getReturnType();
+        }
+        return accessor.asType(MethodType.methodType(Object.class, Object.class));
+    }
+
     /**
      * Iterates through the nested properties and returns the getter value.
      */
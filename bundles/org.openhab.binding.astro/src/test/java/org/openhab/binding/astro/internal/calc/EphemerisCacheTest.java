@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.Position;
+import org.openhab.binding.astro.internal.model.Sun;
+
+/**
+ * Tests the {@link EphemerisCache} and the position only calculations used for the eclipse elevations.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class EphemerisCacheTest {
+
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("Europe/Amsterdam");
+    private static final double AMSTERDAM_LATITUDE = 52.367607;
+    private static final double AMSTERDAM_LONGITUDE = 4.8978293;
+
+    private EphemerisCache cache;
+
+    @BeforeEach
+    public void init() {
+        cache = new EphemerisCache();
+    }
+
+    @Test
+    public void testSameKeyIsCalculatedOnce() {
+        AtomicInteger calculations = new AtomicInteger();
+        Sun first = cache.get(() -> {
+            calculations.incrementAndGet();
+            return new Sun();
+        }, "sun", AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 0L);
+        Sun second = cache.get(() -> {
+            calculations.incrementAndGet();
+            return new Sun();
+        }, "sun", AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 0L);
+
+        assertSame(first, second);
+        assertEquals(1, calculations.get());
+    }
+
+    @Test
+    public void testDifferentKeysAreCalculatedSeparately() {
+        Sun first = cache.get(Sun::new, "sun", AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 0L);
+        Sun otherTime = cache.get(Sun::new, "sun", AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 1L);
+        Sun otherLocation = cache.get(Sun::new, "sun", AMSTERDAM_LONGITUDE, AMSTERDAM_LATITUDE, 0L);
+
+        assertNotSame(first, otherTime);
+        assertNotSame(first, otherLocation);
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        for (long slot = 0; slot < 1000; slot++) {
+            cache.get(Sun::new, "sun", AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, slot);
+        }
+
+        assertTrue(cache.size() < 1000);
+    }
+
+    @Test
+    public void testMoonPositionMatchesFullCalculation() {
+        MoonCalc moonCalc = new MoonCalc();
+        Calendar calendar = new GregorianCalendar(2019, Calendar.FEBRUARY, 27, 13, 0);
+        calendar.setTimeZone(TIME_ZONE);
+
+        Position position = moonCalc.getMoonPosition(calendar, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE);
+        Moon moon = moonCalc.getMoonInfo(calendar, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE);
+        moonCalc.setPositionalInfo(calendar, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, moon);
+
+        assertEquals(moon.getPosition().getAzimuth(), position.getAzimuth());
+        assertEquals(moon.getPosition().getElevationAsDouble(), position.getElevationAsDouble(), 1e-9);
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.binding.astro.internal.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.lang.invoke.MethodHandle;
 import java.time.ZoneId;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -78,6 +79,24 @@ public class SunTest {
                 PropertyUtils.getState(new ChannelUID("astro:sun:home:phase#name"), config, sun, ZONE)));
     }
 
+    @Test
+    public void testGetStateWithPropertyAccessor() throws Throwable {
+        MethodHandle accessor = PropertyUtils.getPropertyAccessor(new ChannelUID("astro:sun:home:phase#name"),
+                Sun.class);
+
+        assertEquals(UnDefType.UNDEF,
+                PropertyUtils.getState((Object) accessor.invokeExact((Object) sun), config, ZONE));
+        sun.getPhase().setName(SunPhaseName.DAYLIGHT);
+        assertEquals(new StringType("DAYLIGHT"),
+                PropertyUtils.getState((Object) accessor.invokeExact((Object) sun), config, ZONE));
+    }
+
+    @Test
+    public void testPropertyAccessorForUnknownProperty() {
+        assertThrows(NoSuchMethodException.class,
+                () -> PropertyUtils.getPropertyAccessor(new ChannelUID("astro:sun:home:phase#unknown"), Sun.class));
+    }
+
     @Test
     public void testGetAllRangesForNight() {
         sun.setNight(new Range());
@@ -35,4 +35,9 @@ public class RoamingBindingConstants {
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections.singleton(THING_TYPE_ROAMING);
 
     public static final String CONFIGURATION_GROUP_ADAPTER_UIDS = "groupUIDs";
+    public static final String CONFIGURATION_RSSI_SMOOTHING = "rssiSmoothing";
+    public static final String CONFIGURATION_RSSI_HYSTERESIS = "rssiHysteresis";
+
+    public static final double DEFAULT_RSSI_SMOOTHING = 0.3;
+    public static final double DEFAULT_RSSI_HYSTERESIS = 6;
 }
@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -37,11 +38,25 @@ import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
  * The {@link RoamingBluetoothDevice} acts as a roaming device by delegating
  * its operations to actual adapters.
  *
+ * The delegate is cached. For every backing device an exponentially smoothed RSSI estimate is kept, and the delegate
+ * only changes to another device if its estimate exceeds the one of the current delegate by the configured hysteresis.
+ * So all backing devices are only re-evaluated when a connection state changes, or when a scan record raises the
+ * estimate of another device above the one of the delegate by more than the hysteresis. Scan records are only
+ * forwarded from the delegate, so every advertisement reaches the listeners once.
+ *
  * @author Connor Petty - Initial contribution
  */
 @NonNullByDefault
 public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
+    /**
+     * RSSI estimates that have not been updated for this long are not considered when selecting a delegate, as the
+     * device is most likely out of range of that adapter.
+     */
+    private static final long RSSI_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    private final RoamingBridgeHandler roamingAdapter;
+
     private final Map<BluetoothDevice, Listener> devices = new ConcurrentHashMap<>();
 
     private final List<BluetoothDeviceListener> eventListeners = new CopyOnWriteArrayList<>();
@@ -50,6 +65,7 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
     protected RoamingBluetoothDevice(RoamingBridgeHandler roamingAdapter, BluetoothAddress address) {
         super(roamingAdapter, address);
+        this.roamingAdapter = roamingAdapter;
     }
 
     public void addBluetoothDevice(BluetoothDevice device) {
@@ -60,6 +76,9 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
         BluetoothDeviceListener listener = devices.remove(device);
         if (listener != null) {
             device.removeListener(listener);
+            if (device == currentDelegateRef.get()) {
+                selectDelegate();
+            }
         }
     }
 
@@ -70,21 +89,65 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
     @Override
     protected @Nullable BluetoothDevice getDelegate() {
+        BluetoothDevice delegate = currentDelegateRef.get();
+        if (delegate == null) {
+            delegate = selectDelegate();
+        }
+        return delegate;
+    }
+
+    /**
+     * Selects the device to delegate to. A connecting or connected device always wins, otherwise the device with the
+     * best RSSI estimate is chosen, if it is better than the estimate of the current delegate by more than the
+     * hysteresis.
+     *
+     * @return the new delegate
+     */
+    private synchronized @Nullable BluetoothDevice selectDelegate() {
+        BluetoothDevice oldDelegate = currentDelegateRef.get();
+        @Nullable
+        Listener current = oldDelegate != null ? devices.get(oldDelegate) : null;
         BluetoothDevice newDelegate = null;
-        int newRssi = Integer.MIN_VALUE;
-        for (BluetoothDevice device : devices.keySet()) {
+        double newRssi = Double.NaN;
+        // the last known RSSI of the devices is used as long as no scan record has been received
+        BluetoothDevice fallback = null;
+        int fallbackRssi = Integer.MIN_VALUE;
+        long now = System.nanoTime();
+        for (Listener listener : devices.values()) {
+            BluetoothDevice device = listener.device;
             ConnectionState state = device.getConnectionState();
             if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
                 newDelegate = device;
+                newRssi = Double.NaN;
+                current = null;
                 break;
             }
-            Integer rssi = device.getRssi();
-            if (rssi != null && (newDelegate == null || rssi > newRssi)) {
-                newRssi = rssi;
-                newDelegate = device;
+            double rssi = listener.getRssiEstimate(now);
+            if (!Double.isNaN(rssi)) {
+                if (newDelegate == null || rssi > newRssi) {
+                    newRssi = rssi;
+                    newDelegate = device;
+                }
+            } else {
+                Integer lastRssi = device.getRssi();
+                if (lastRssi != null && (fallback == null || lastRssi > fallbackRssi)) {
+                    fallbackRssi = lastRssi;
+                    fallback = device;
+                }
+            }
+        }
+        if (newDelegate == null) {
+            newDelegate = current != null ? current.device : fallback;
+        }
+        if (current != null && newDelegate != current.device) {
+            double currentRssi = current.getRssiEstimate(now);
+            if (!Double.isNaN(currentRssi)
+                    && (Double.isNaN(newRssi) || newRssi - currentRssi <= roamingAdapter.getRssiHysteresis())) {
+                // the current delegate is still in range and not clearly worse, so we stay with it
+                newDelegate = current.device;
             }
         }
-        BluetoothDevice oldDelegate = currentDelegateRef.getAndSet(newDelegate);
+        currentDelegateRef.set(newDelegate);
         if (oldDelegate != newDelegate) { // using reference comparison is valid in this case
             notifyListeners(BluetoothEventType.ADAPTER_CHANGED, getAdapter(newDelegate));
         }
@@ -108,20 +171,71 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
         private BluetoothDevice device;
 
+        private double rssiEstimate = Double.NaN;
+        private long rssiUpdated;
+
         public Listener(BluetoothDevice device) {
             this.device = device;
         }
 
+        private synchronized void updateRssiEstimate(int rssi) {
+            double smoothing = roamingAdapter.getRssiSmoothing();
+            if (Double.isNaN(rssiEstimate) || System.nanoTime() - rssiUpdated > RSSI_TIMEOUT) {
+                rssiEstimate = rssi;
+            } else {
+                rssiEstimate += smoothing * (rssi - rssiEstimate);
+            }
+            rssiUpdated = System.nanoTime();
+        }
+
+        private synchronized double getRssiEstimate(long now) {
+            if (Double.isNaN(rssiEstimate) || now - rssiUpdated > RSSI_TIMEOUT) {
+                return Double.NaN;
+            }
+            return rssiEstimate;
+        }
+
+        /**
+         * Checks if this device may replace the current delegate, without looking at the other backing devices.
+         */
+        private boolean mayReplaceDelegate() {
+            BluetoothDevice delegate = currentDelegateRef.get();
+            if (delegate == device) {
+                return false;
+            }
+            @Nullable
+            Listener current = delegate != null ? devices.get(delegate) : null;
+            if (delegate == null || current == null) {
+                return true;
+            }
+            ConnectionState state = delegate.getConnectionState();
+            if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
+                return false;
+            }
+            long now = System.nanoTime();
+            double currentRssi = current.getRssiEstimate(now);
+            return Double.isNaN(currentRssi)
+                    || getRssiEstimate(now) - currentRssi > roamingAdapter.getRssiHysteresis();
+        }
+
         @Override
         public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
-            if (device == getDelegate()) {
+            int rssi = scanNotification.getRssi();
+            BluetoothDevice delegate;
+            if (rssi != Integer.MIN_VALUE) {
+                updateRssiEstimate(rssi);
+                delegate = mayReplaceDelegate() ? selectDelegate() : getDelegate();
+            } else {
+                delegate = getDelegate();
+            }
+            if (device == delegate) {
                 notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
             }
         }
 
         @Override
         public void onConnectionStateChange(BluetoothConnectionStatusNotification connectionNotification) {
-            if (device == getDelegate()) {
+            if (device == selectDelegate()) {
                 notifyListeners(BluetoothEventType.CONNECTION_STATE, connectionNotification);
             }
         }
@@ -51,6 +51,8 @@ public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBl
      */
     private Map<BluetoothAddress, RoamingBluetoothDevice> devices = new HashMap<>();
     private ThingUID[] groupUIDs = new ThingUID[0];
+    private volatile double rssiSmoothing = RoamingBindingConstants.DEFAULT_RSSI_SMOOTHING;
+    private volatile double rssiHysteresis = RoamingBindingConstants.DEFAULT_RSSI_HYSTERESIS;
 
     public RoamingBridgeHandler(Bridge bridge) {
         super(bridge);
@@ -66,6 +68,13 @@ public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBl
             groupUIDs = Stream.of(groupIds.split(",")).map(ThingUID::new).toArray(ThingUID[]::new);
         }
 
+        double smoothing = getConfigValue(RoamingBindingConstants.CONFIGURATION_RSSI_SMOOTHING,
+                RoamingBindingConstants.DEFAULT_RSSI_SMOOTHING);
+        // a smoothing factor of 1 uses the latest RSSI as is
+        rssiSmoothing = smoothing > 0 && smoothing <= 1 ? smoothing : RoamingBindingConstants.DEFAULT_RSSI_SMOOTHING;
+        rssiHysteresis = Math.max(0, getConfigValue(RoamingBindingConstants.CONFIGURATION_RSSI_HYSTERESIS,
+                RoamingBindingConstants.DEFAULT_RSSI_HYSTERESIS));
+
         if (adapters.stream().map(BluetoothAdapter::getUID).anyMatch(this::isGroupMember)) {
             updateStatus(ThingStatus.ONLINE);
         } else {
@@ -74,6 +83,36 @@ public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBl
         }
     }
 
+    private double getConfigValue(String key, double defaultValue) {
+        Object value = getConfig().get(key);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof String && !"".equals(value)) {
+            try {
+                return Double.parseDouble((String) value);
+            } catch (NumberFormatException e) {
+                // fall through to the default value
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @return the weight of a new RSSI value in the smoothed RSSI estimate of a device, between 0 (exclusive) and 1
+     */
+    double getRssiSmoothing() {
+        return rssiSmoothing;
+    }
+
+    /**
+     * @return how many dBm the RSSI estimate of another adapter has to exceed the one of the current adapter of a device
+     *         to roam to the other adapter
+     */
+    double getRssiHysteresis() {
+        return rssiHysteresis;
+    }
+
     private void updateStatus() {
         if (adapters.stream().anyMatch(this::isRoamingMember)) {
             updateStatus(ThingStatus.ONLINE);
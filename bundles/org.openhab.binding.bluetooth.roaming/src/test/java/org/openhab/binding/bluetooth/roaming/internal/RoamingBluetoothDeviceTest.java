@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.roaming.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.BaseBluetoothDevice;
+import org.openhab.binding.bluetooth.BluetoothAdapter;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+import org.openhab.binding.bluetooth.BluetoothCharacteristic;
+import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.BluetoothDescriptor;
+import org.openhab.binding.bluetooth.BluetoothDeviceListener;
+import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests the delegate selection of the {@link RoamingBluetoothDevice}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class RoamingBluetoothDeviceTest {
+
+    private static final BluetoothAddress ADDRESS = new BluetoothAddress("12:34:56:78:9A:BC");
+
+    private @NonNullByDefault({}) RoamingBluetoothDevice roamingDevice;
+    private @NonNullByDefault({}) BluetoothDeviceListener listener;
+    private @NonNullByDefault({}) BluetoothAdapter adapter1;
+    private @NonNullByDefault({}) BluetoothAdapter adapter2;
+    private @NonNullByDefault({}) BackingDevice device1;
+    private @NonNullByDefault({}) BackingDevice device2;
+
+    @BeforeEach
+    public void setUp() {
+        RoamingBridgeHandler roamingAdapter = mock(RoamingBridgeHandler.class);
+        // without smoothing the estimate is the RSSI of the last scan record
+        when(roamingAdapter.getRssiSmoothing()).thenReturn(1.0);
+        when(roamingAdapter.getRssiHysteresis()).thenReturn(6.0);
+
+        roamingDevice = new RoamingBluetoothDevice(roamingAdapter, ADDRESS);
+        listener = mock(BluetoothDeviceListener.class);
+        roamingDevice.addListener(listener);
+
+        adapter1 = mock(BluetoothAdapter.class);
+        adapter2 = mock(BluetoothAdapter.class);
+        device1 = new BackingDevice(adapter1);
+        device2 = new BackingDevice(adapter2);
+        roamingDevice.addBluetoothDevice(device1);
+        roamingDevice.addBluetoothDevice(device2);
+    }
+
+    @Test
+    public void testFirstScanRecordSelectsDelegate() {
+        device1.receiveScanRecord(-70);
+
+        assertSame(adapter1, roamingDevice.getAdapter());
+        verify(listener).onAdapterChanged(adapter1);
+        verify(listener).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void testHandOverToClearlyBetterAdapter() {
+        device1.receiveScanRecord(-80);
+        BluetoothScanNotification scanRecord = device2.receiveScanRecord(-70);
+
+        assertSame(adapter2, roamingDevice.getAdapter());
+        verify(listener).onAdapterChanged(adapter2);
+        verify(listener).onScanRecordReceived(scanRecord);
+    }
+
+    @Test
+    public void testNoHandOverWithinHysteresis() {
+        device1.receiveScanRecord(-80);
+        BluetoothScanNotification scanRecord = device2.receiveScanRecord(-76);
+
+        assertSame(adapter1, roamingDevice.getAdapter());
+        verify(listener, never()).onAdapterChanged(adapter2);
+        verify(listener, never()).onScanRecordReceived(scanRecord);
+    }
+
+    @Test
+    public void testConnectedDeviceStaysDelegate() {
+        device1.receiveScanRecord(-60);
+        device2.changeConnectionState(ConnectionState.CONNECTED);
+
+        assertSame(adapter2, roamingDevice.getAdapter());
+
+        device1.receiveScanRecord(-40);
+
+        assertSame(adapter2, roamingDevice.getAdapter());
+    }
+
+    @Test
+    public void testHandOverWhenDelegateIsRemoved() {
+        device1.receiveScanRecord(-60);
+        device2.receiveScanRecord(-80);
+        roamingDevice.removeBluetoothDevice(device1);
+
+        assertSame(adapter2, roamingDevice.getAdapter());
+        verify(listener).onAdapterChanged(adapter2);
+    }
+
+    @Test
+    public void testScanRecordsOfDelegateDoNotScanOtherDevices() {
+        device1.receiveScanRecord(-70);
+        device2.receiveScanRecord(-90);
+        device2.connectionStateQueries = 0;
+
+        for (int i = 0; i < 10; i++) {
+            device1.receiveScanRecord(-70 + i % 3);
+        }
+        device2.receiveScanRecord(-85);
+
+        assertSame(adapter1, roamingDevice.getAdapter());
+        assertEquals(0, device2.connectionStateQueries);
+    }
+
+    /**
+     * A backing device of an adapter, which receives scan records and changes its connection state on demand.
+     */
+    private static class BackingDevice extends BaseBluetoothDevice {
+
+        private int connectionStateQueries;
+
+        public BackingDevice(BluetoothAdapter adapter) {
+            super(adapter, ADDRESS);
+            connectionState = ConnectionState.DISCONNECTED;
+        }
+
+        public BluetoothScanNotification receiveScanRecord(int rssi) {
+            BluetoothScanNotification scanNotification = new BluetoothScanNotification();
+            scanNotification.setRssi(rssi);
+            setRssi(rssi);
+            notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
+            return scanNotification;
+        }
+
+        public void changeConnectionState(ConnectionState state) {
+            connectionState = state;
+            notifyListeners(BluetoothEventType.CONNECTION_STATE, new BluetoothConnectionStatusNotification(state));
+        }
+
+        @Override
+        public ConnectionState getConnectionState() {
+            connectionStateQueries++;
+            return super.getConnectionState();
+        }
+
+        @Override
+        public boolean connect() {
+            return false;
+        }
+
+        @Override
+        public boolean disconnect() {
+            return false;
+        }
+
+        @Override
+        public boolean discoverServices() {
+            return false;
+        }
+
+        @Override
+        public boolean readCharacteristic(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean writeCharacteristic(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean enableNotifications(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean disableNotifications(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean enableNotifications(BluetoothDescriptor descriptor) {
+            return false;
+        }
+
+        @Override
+        public boolean disableNotifications(BluetoothDescriptor descriptor) {
+            return false;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
@@ -61,6 +62,11 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
+    // Drops unchanged scan records before they reach the device listeners
+    private final ScanRecordFilter scanRecordFilter = new ScanRecordFilter();
+    private long lastScanRecordsReceived;
+    private long lastScanRecordsForwarded;
+
     /**
      * Constructor
      *
@@ -88,6 +94,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     @Override
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
+        scanRecordFilter.configure(config.scanRecordMaxInterval, config.scanRecordRssiHysteresis);
 
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
@@ -114,6 +121,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     }
 
     private void removeInactiveDevices() {
+        logScanRecordStatistics();
         // clean up orphaned entries
         synchronized (devices) {
             for (BD device : devices.values()) {
@@ -125,8 +133,48 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         }
     }
 
+    private void logScanRecordStatistics() {
+        if (logger.isDebugEnabled()) {
+            long received = scanRecordFilter.getReceived();
+            long forwarded = scanRecordFilter.getForwarded();
+            double interval = config.inactiveDeviceCleanupInterval;
+            logger.debug("Adapter '{}' received {} scan records ({}/s) and forwarded {} ({}/s)", getUID(), received,
+                    String.format("%.1f", (received - lastScanRecordsReceived) / interval), forwarded,
+                    String.format("%.1f", (forwarded - lastScanRecordsForwarded) / interval));
+            lastScanRecordsReceived = received;
+            lastScanRecordsForwarded = forwarded;
+        }
+    }
+
+    /**
+     * Checks whether a scan record received for a device of this adapter carries anything new and should be forwarded
+     * to the listeners of the device.
+     *
+     * @param address the address of the device
+     * @param scanNotification the received scan record
+     * @return true if the scan record should be forwarded
+     */
+    protected boolean shouldForwardScanRecord(BluetoothAddress address, BluetoothScanNotification scanNotification) {
+        return scanRecordFilter.accept(address, scanNotification);
+    }
+
+    /**
+     * @return the number of scan records this adapter has received for its devices
+     */
+    public long getScanRecordsReceived() {
+        return scanRecordFilter.getReceived();
+    }
+
+    /**
+     * @return the number of scan records this adapter has forwarded to the listeners of its devices
+     */
+    public long getScanRecordsForwarded() {
+        return scanRecordFilter.getForwarded();
+    }
+
     protected void removeDevice(BD device) {
         device.dispose();
+        scanRecordFilter.remove(device.getAddress());
         synchronized (devices) {
             devices.remove(device.getAddress());
         }
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * The {@link ScanRecordFilter} keeps the last scan record forwarded for each device of an adapter and drops scan
+ * records that do not carry anything new. A scan record is forwarded if its payload (data, manufacturer data or name)
+ * differs from the last forwarded one, if its RSSI differs by more than the configured hysteresis, or if no scan record
+ * has been forwarded for the configured maximum interval.
+ *
+ * A maximum interval of 0 disables the filter, every scan record is forwarded then.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class ScanRecordFilter {
+
+    private static class DeviceRecord {
+        int rssi = Integer.MIN_VALUE;
+        byte @Nullable [] data;
+        byte @Nullable [] manufacturerData;
+        @Nullable
+        String name;
+        long lastForwarded;
+    }
+
+    private final Map<BluetoothAddress, DeviceRecord> records = new ConcurrentHashMap<>();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong forwarded = new AtomicLong();
+    private final LongSupplier nanoTime;
+
+    private volatile long maxIntervalNanos = 0;
+    private volatile int rssiHysteresis = 0;
+
+    ScanRecordFilter() {
+        this(System::nanoTime);
+    }
+
+    ScanRecordFilter(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Configures the filter and forgets all forwarded scan records.
+     *
+     * @param maxInterval the time in seconds after which a scan record is forwarded even if it is unchanged, 0
+     *            disables the filter
+     * @param rssiHysteresis the change in dBm the RSSI has to exceed for a scan record to be forwarded
+     */
+    void configure(int maxInterval, int rssiHysteresis) {
+        this.maxIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, maxInterval));
+        this.rssiHysteresis = Math.max(0, rssiHysteresis);
+        records.clear();
+    }
+
+    /**
+     * Checks whether a scan record should be forwarded to the listeners of the device and remembers it if so.
+     *
+     * @param address the address of the device the scan record has been received for
+     * @param scanNotification the scan record
+     * @return true if the scan record should be forwarded
+     */
+    boolean accept(BluetoothAddress address, BluetoothScanNotification scanNotification) {
+        received.incrementAndGet();
+        long maxIntervalNanos = this.maxIntervalNanos;
+        if (maxIntervalNanos == 0) {
+            forwarded.incrementAndGet();
+            return true;
+        }
+
+        DeviceRecord record = records.computeIfAbsent(address, a -> new DeviceRecord());
+        long now = nanoTime.getAsLong();
+        synchronized (record) {
+            boolean forward = now - record.lastForwarded >= maxIntervalNanos || record.lastForwarded == 0;
+
+            int rssi = scanNotification.getRssi();
+            if (rssi != Integer.MIN_VALUE && (record.rssi == Integer.MIN_VALUE
+                    || Math.abs(rssi - record.rssi) > rssiHysteresis)) {
+                forward = true;
+            }
+            byte[] data = scanNotification.getData();
+            if (data != null && !Arrays.equals(data, record.data)) {
+                forward = true;
+            }
+            byte[] manufacturerData = scanNotification.getManufacturerData();
+            if (manufacturerData != null && !Arrays.equals(manufacturerData, record.manufacturerData)) {
+                forward = true;
+            }
+            String name = scanNotification.getDeviceName();
+            if (!name.isEmpty() && !name.equals(record.name)) {
+                forward = true;
+            }
+            if (!forward) {
+                return false;
+            }
+
+            if (rssi != Integer.MIN_VALUE) {
+                record.rssi = rssi;
+            }
+            if (data != null) {
+                record.data = data;
+            }
+            if (manufacturerData != null) {
+                record.manufacturerData = manufacturerData;
+            }
+            if (!name.isEmpty()) {
+                record.name = name;
+            }
+            // 0 marks a device without forwarded scan records
+            record.lastForwarded = now != 0 ? now : 1;
+        }
+        forwarded.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Forgets the scan records of a device, e.g. because it has been removed.
+     *
+     * @param address the address of the device
+     */
+    void remove(BluetoothAddress address) {
+        records.remove(address);
+    }
+
+    /**
+     * @return the number of scan records received since the filter has been created
+     */
+    long getReceived() {
+        return received.get();
+    }
+
+    /**
+     * @return the number of scan records forwarded since the filter has been created
+     */
+    long getForwarded() {
+        return forwarded.get();
+    }
+}
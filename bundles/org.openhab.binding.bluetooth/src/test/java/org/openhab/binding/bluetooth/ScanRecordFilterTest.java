@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link ScanRecordFilter}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ScanRecordFilterTest {
+
+    private static final BluetoothAddress ADDRESS = new BluetoothAddress("12:34:56:78:9A:BC");
+
+    private long now = 1;
+    private ScanRecordFilter filter = new ScanRecordFilter(() -> now);
+
+    @BeforeEach
+    public void setUp() {
+        filter.configure(10, 2);
+    }
+
+    private static BluetoothScanNotification record(int rssi, byte @Nullable [] manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        if (manufacturerData != null) {
+            notification.setManufacturerData(manufacturerData);
+        }
+        return notification;
+    }
+
+    private void advance(int seconds) {
+        now += TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    @Test
+    public void unchangedRecordsAreDropped() {
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1, 2 })));
+        assertFalse(filter.accept(ADDRESS, record(-60, new byte[] { 1, 2 })));
+        assertFalse(filter.accept(ADDRESS, record(-62, new byte[] { 1, 2 })));
+        assertEquals(3, filter.getReceived());
+        assertEquals(1, filter.getForwarded());
+    }
+
+    @Test
+    public void changedPayloadIsForwarded() {
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1, 2 })));
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1, 3 })));
+        assertFalse(filter.accept(ADDRESS, record(-60, new byte[] { 1, 3 })));
+    }
+
+    @Test
+    public void rssiChangeBeyondHysteresisIsForwarded() {
+        assertTrue(filter.accept(ADDRESS, record(-60, null)));
+        assertFalse(filter.accept(ADDRESS, record(-58, null)));
+        assertTrue(filter.accept(ADDRESS, record(-57, null)));
+        // the hysteresis is relative to the last forwarded RSSI
+        assertFalse(filter.accept(ADDRESS, record(-59, null)));
+    }
+
+    @Test
+    public void unchangedRecordIsForwardedAfterMaxInterval() {
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1 })));
+        advance(9);
+        assertFalse(filter.accept(ADDRESS, record(-60, new byte[] { 1 })));
+        advance(1);
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1 })));
+    }
+
+    @Test
+    public void devicesAreFilteredIndependently() {
+        BluetoothAddress other = new BluetoothAddress("12:34:56:78:9A:BD");
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1 })));
+        assertTrue(filter.accept(other, record(-60, new byte[] { 1 })));
+        filter.remove(ADDRESS);
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1 })));
+        assertFalse(filter.accept(other, record(-60, new byte[] { 1 })));
+    }
+
+    @Test
+    public void disabledFilterForwardsEverything() {
+        filter.configure(0, 2);
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1 })));
+        assertTrue(filter.accept(ADDRESS, record(-60, new byte[] { 1 })));
+        assertEquals(2, filter.getForwarded());
+    }
+}
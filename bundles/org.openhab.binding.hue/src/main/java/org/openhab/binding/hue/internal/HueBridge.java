@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
@@ -78,6 +79,9 @@ public class HueBridge {
     @Nullable
     private Config cachedConfig;
 
+    // the previous responses of the requests used for change detection by their path
+    private final Map<String, String> lastResponses = new ConcurrentHashMap<>();
+
     /**
      * Connect with a bridge as a new user.
      *
@@ -211,6 +215,29 @@ public class HueBridge {
         return getTypedLights(gsonType);
     }
 
+    /**
+     * Returns a list of lights known to the bridge, if the response of the bridge has changed since the last call of
+     * this method or {@link #resetChangeDetection()}.
+     *
+     * @return list of known lights as {@link FullLight}s or null, if the lights are unchanged
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public @Nullable List<FullLight> getFullLightsIfChanged() throws IOException, ApiException {
+        if (!ApiVersionUtils.supportsFullLights(getVersion())) {
+            return getFullConfig().getLights();
+        }
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("lights"));
+
+        handleErrors(result);
+
+        if (isUnchanged("lights", result)) {
+            return null;
+        }
+        return toLightList(result, FullLight.GSON_TYPE);
+    }
+
     private <T extends HueObject> List<T> getTypedLights(Type gsonType) throws IOException, ApiException {
         requireAuthentication();
 
@@ -218,6 +245,10 @@ public class HueBridge {
 
         handleErrors(result);
 
+        return toLightList(result, gsonType);
+    }
+
+    private <T extends HueObject> List<T> toLightList(Result result, Type gsonType) throws ApiException {
         Map<String, T> lightMap = safeFromJson(result.getBody(), gsonType);
         ArrayList<T> lightList = new ArrayList<>();
 
@@ -246,6 +277,42 @@ public class HueBridge {
 
         handleErrors(result);
 
+        return toSensorList(result);
+    }
+
+    /**
+     * Returns a list of sensors known to the bridge, if the response of the bridge has changed since the last call of
+     * this method or {@link #resetChangeDetection()}.
+     *
+     * @return list of sensors or null, if the sensors are unchanged
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public @Nullable List<FullSensor> getSensorsIfChanged() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors"));
+
+        handleErrors(result);
+
+        if (isUnchanged("sensors", result)) {
+            return null;
+        }
+        return toSensorList(result);
+    }
+
+    /**
+     * Forgets the previous responses, so the next calls of the methods detecting changes return the current state
+     * in any case.
+     */
+    public void resetChangeDetection() {
+        lastResponses.clear();
+    }
+
+    private boolean isUnchanged(String path, Result result) {
+        return result.getBody().equals(lastResponses.put(path, result.getBody()));
+    }
+
+    private List<FullSensor> toSensorList(Result result) throws ApiException {
         Map<String, FullSensor> sensorMap = safeFromJson(result.getBody(), FullSensor.GSON_TYPE);
         ArrayList<FullSensor> sensorList = new ArrayList<>();
 
@@ -229,4 +229,30 @@ public class StateUpdate extends ConfigUpdate {
         commands.add(new Command("scene", sceneId));
         return this;
     }
+
+    /**
+     * Adds the commands of a later update. Commands of this update changing the same attribute are replaced. If the
+     * later update turns the light off, it replaces all commands, as they could not be applied to a light which is off.
+     *
+     * @param update the later update
+     * @return this object for chaining calls
+     */
+    public StateUpdate merge(StateUpdate update) {
+        if (update.commands.stream().anyMatch(c -> "on".equals(c.key) && Boolean.FALSE.equals(c.value))) {
+            commands.clear();
+            colorTemperature = null;
+            brightness = null;
+        }
+        for (Command command : update.commands) {
+            commands.removeIf(c -> c.key.equals(command.key));
+            commands.add(command);
+        }
+        if (update.colorTemperature != null) {
+            colorTemperature = update.colorTemperature;
+        }
+        if (update.brightness != null) {
+            brightness = update.brightness;
+        }
+        return this;
+    }
 }
@@ -33,7 +33,6 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -52,6 +51,7 @@ import org.openhab.binding.hue.internal.exceptions.DeviceOffException;
 import org.openhab.binding.hue.internal.exceptions.EntityNotAvailableException;
 import org.openhab.binding.hue.internal.exceptions.LinkButtonException;
 import org.openhab.binding.hue.internal.exceptions.UnauthorizedException;
+import org.openhab.binding.hue.internal.handler.LightCommandCoalescer.LightCommand;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.core.status.ConfigStatusMessage;
 import org.openhab.core.library.types.HSBType;
@@ -96,6 +96,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final long SCENE_POLLING_INTERVAL = TimeUnit.SECONDS.convert(10, TimeUnit.MINUTES);
 
+    // the groups are fetched at least every this many light polling cycles, otherwise only if a light changed
+    private static final int GROUP_POLLING_CYCLES = 6;
+
+    // with the backoff enabled, the sensor polling interval grows up to this factor while the sensors are idle
+    private static final int SENSOR_POLLING_BACKOFF_FACTOR = 4;
+
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionOptionProvider stateDescriptionOptionProvider;
 
@@ -182,11 +188,22 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
+            final List<FullSensor> sensors = hueBridge.getSensorsIfChanged();
+            if (sensors == null) {
+                // back off while the sensors are idle, but keep the interval while a motion is present
+                if (sensorPollingBackoff && !isPresenceDetected()) {
+                    nextSensorPollingDelay = Math.min(nextSensorPollingDelay * 2,
+                            sensorPollingInterval * SENSOR_POLLING_BACKOFF_FACTOR);
+                }
+                return;
+            }
+            nextSensorPollingDelay = sensorPollingInterval;
+
             Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            for (final FullSensor sensor : sensors) {
                 String sensorId = sensor.getId();
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
@@ -201,6 +218,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
+                    } else {
+                        // deliver the same state again next time
+                        hueBridge.resetChangeDetection();
                     }
                 }
                 lastSensorStateCopy.remove(sensorId);
@@ -221,25 +241,34 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 }
             });
         }
+
+        private boolean isPresenceDetected() {
+            return lastSensorStates.values().stream()
+                    .anyMatch(sensor -> Boolean.TRUE.equals(sensor.getState().get(FullSensor.STATE_PRESENCE)));
+        }
     };
 
     private final Runnable lightPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            updateLights();
-            updateGroups();
+            // the state of the groups is calculated from their lights, only their members have to be polled
+            if (updateLights() || ++groupPollingCycle >= GROUP_POLLING_CYCLES) {
+                groupPollingCycle = 0;
+                updateGroups();
+            }
         }
 
-        private void updateLights() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
+        /**
+         * @return false if the lights are unchanged since the last update
+         */
+        private boolean updateLights() throws IOException, ApiException {
+            List<FullLight> lights = hueBridge.getFullLightsIfChanged();
+            if (lights == null) {
+                return false;
             }
 
+            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
+
             final HueDeviceDiscoveryService discovery = discoveryService;
 
             for (final FullLight fullLight : lights) {
@@ -257,6 +286,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                    } else {
+                        // deliver the same state again next time, the light ignored it while waiting for a command
+                        hueBridge.resetChangeDetection();
                     }
                 }
                 lastLightStateCopy.remove(lightId);
@@ -276,6 +308,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     discovery.removeLightDiscovery(light);
                 }
             });
+            return true;
         }
 
         private void updateGroups() throws IOException, ApiException {
@@ -393,6 +426,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private boolean lastBridgeConnectionState = false;
 
+    private int groupPollingCycle;
+    private long sensorPollingInterval;
+    private long nextSensorPollingDelay;
+    private boolean sensorPollingBackoff;
+    private boolean sensorPollingActive;
+
     private boolean propertiesInitializedSuccessfully = false;
 
     private @Nullable Future<?> initJob;
@@ -405,9 +444,24 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private List<String> consoleScenesList = new ArrayList<>();
 
+    private final LightCommandCoalescer lightCommandCoalescer;
+
     public HueBridgeHandler(Bridge bridge, HueStateDescriptionOptionProvider stateDescriptionOptionProvider) {
         super(bridge);
         this.stateDescriptionOptionProvider = stateDescriptionOptionProvider;
+        this.lightCommandCoalescer = new LightCommandCoalescer(scheduler, lastGroupStates::values,
+                new LightCommandCoalescer.CommandSender() {
+                    @Override
+                    public void sendLightCommand(LightCommand command) {
+                        HueBridgeHandler.this.sendLightCommand(command);
+                    }
+
+                    @Override
+                    public void sendGroupCommand(FullGroup group, StateUpdate stateUpdate,
+                            List<LightCommand> commands) {
+                        HueBridgeHandler.this.sendGroupCommand(group, stateUpdate, commands);
+                    }
+                });
     }
 
     @Override
@@ -427,6 +481,19 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             long fadeTime) {
         if (hueBridge != null) {
             listener.setPollBypass(BYPASS_MIN_DURATION_BEFORE_CMD);
+            lightCommandCoalescer.add(listener, light, stateUpdate, fadeTime);
+        } else {
+            logger.debug("No bridge connected or selected. Cannot set light state.");
+        }
+    }
+
+    private void sendLightCommand(LightCommand command) {
+        sendLightState(command.listener, command.light, command.stateUpdate, command.fadeTime);
+    }
+
+    private void sendLightState(LightStatusListener listener, FullLight light, StateUpdate stateUpdate,
+            long fadeTime) {
+        if (hueBridge != null) {
             hueBridge.setLightState(light, stateUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
@@ -445,6 +512,28 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    private void sendGroupCommand(FullGroup group, StateUpdate stateUpdate, List<LightCommand> commands) {
+        if (hueBridge != null) {
+            logger.debug("Sending the command for {} lights as action of group {}.", commands.size(), group.getId());
+            hueBridge.setGroupState(group, stateUpdate).thenAccept(result -> {
+                try {
+                    hueBridge.handleErrors(result);
+                    commands.forEach(command -> command.listener.setPollBypass(command.fadeTime));
+                } catch (Exception e) {
+                    // let the lights handle the error on their own
+                    logger.debug("Group action failed, sending the command to each light: {}", e.getMessage());
+                    commands.forEach(this::sendLightCommand);
+                }
+            }).exceptionally(e -> {
+                commands.forEach(command -> command.listener.unsetPollBypass());
+                handleThingUpdateException("group", e);
+                return null;
+            });
+        } else {
+            logger.debug("No bridge connected or selected. Cannot set group state.");
+        }
+    }
+
     @Override
     public void updateSensorState(FullSensor sensor, StateUpdate stateUpdate) {
         if (hueBridge != null) {
@@ -529,8 +618,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 // to be turned on (i.e. change its brightness).
                 return;
             } else {
-                updateLightState(listener, light, LightStateConverter.toOnOffLightState(OnOffType.ON), fadeTime);
-                updateLightState(listener, light, stateUpdate, fadeTime);
+                sendLightState(listener, light, LightStateConverter.toOnOffLightState(OnOffType.ON), fadeTime);
+                sendLightState(listener, light, stateUpdate, fadeTime);
             }
         } else if (e instanceof EntityNotAvailableException) {
             logger.debug("Error while accessing light: {}", e.getMessage(), e);
@@ -613,12 +702,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         lightPollingJob = null;
     }
 
-    private void startSensorPolling() {
-        ScheduledFuture<?> job = sensorPollingJob;
-        if (job == null || job.isCancelled()) {
+    private synchronized void startSensorPolling() {
+        if (!sensorPollingActive) {
             int configSensorPollingInterval = hueBridgeConfig.getSensorPollingInterval();
             if (configSensorPollingInterval > 0) {
-                long sensorPollingInterval;
                 if (configSensorPollingInterval < 50) {
                     sensorPollingInterval = TimeUnit.MILLISECONDS.toMillis(500);
                     logger.info("Wrong configuration value for sensor polling interval. Using default value: {}ms",
@@ -626,14 +713,27 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     sensorPollingInterval = configSensorPollingInterval;
                 }
+                nextSensorPollingDelay = sensorPollingInterval;
+                sensorPollingBackoff = hueBridgeConfig.isSensorPollingBackoff();
+                sensorPollingActive = true;
                 // Delay the first execution to give a chance to have all sensor things registered
-                sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
-                        TimeUnit.MILLISECONDS);
+                sensorPollingJob = scheduler.schedule(this::pollSensors, 4000, TimeUnit.MILLISECONDS);
             }
         }
     }
 
-    private void stopSensorPolling() {
+    private void pollSensors() {
+        sensorPollingRunnable.run();
+        synchronized (this) {
+            // the polling is rescheduled after each run, as its interval depends on the activity of the sensors
+            if (sensorPollingActive) {
+                sensorPollingJob = scheduler.schedule(this::pollSensors, nextSensorPollingDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private synchronized void stopSensorPolling() {
+        sensorPollingActive = false;
         ScheduledFuture<?> job = sensorPollingJob;
         if (job != null) {
             job.cancel(true);
@@ -668,6 +768,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         stopLightPolling();
         stopSensorPolling();
         stopScenePolling();
+        lightCommandCoalescer.dispose();
         if (hueBridge != null) {
             hueBridge = null;
         }
@@ -716,6 +817,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
      */
     public void onConnectionLost() {
         logger.debug("Bridge connection lost. Updating thing status to OFFLINE.");
+        if (hueBridge != null) {
+            hueBridge.resetChangeDetection();
+        }
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE, "@text/offline.bridge-connection-lost");
     }
 
@@ -727,6 +831,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
      */
     private void onConnectionResumed() throws IOException, ApiException {
         logger.debug("Bridge connection resumed.");
+        // the things have to be updated with the current state, even if it did not change meanwhile
+        hueBridge.resetChangeDetection();
 
         if (!propertiesInitializedSuccessfully) {
             FullConfig fullConfig = hueBridge.getFullConfig();
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.FullGroup;
+import org.openhab.binding.hue.internal.FullLight;
+import org.openhab.binding.hue.internal.StateUpdate;
+
+/**
+ * The {@link LightCommandCoalescer} collects the commands to lights issued within a short window, so switching many
+ * lights at once does not ripple through the room at the rate limit of the bridge.
+ *
+ * If the same state is sent to exactly the lights of a group, a single group action is sent instead. All other
+ * commands are sent one per light in the order they were issued. Several commands to the same light are merged, the
+ * last one winning for each attribute.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class LightCommandCoalescer {
+    static final long COALESCING_WINDOW = 50L;
+
+    /**
+     * Sends the coalesced commands to the bridge.
+     */
+    interface CommandSender {
+        void sendLightCommand(LightCommand command);
+
+        void sendGroupCommand(FullGroup group, StateUpdate stateUpdate, List<LightCommand> commands);
+    }
+
+    /**
+     * A pending command to a light.
+     */
+    static class LightCommand {
+        final LightStatusListener listener;
+        final FullLight light;
+        StateUpdate stateUpdate;
+        long fadeTime;
+
+        LightCommand(LightStatusListener listener, FullLight light, StateUpdate stateUpdate, long fadeTime) {
+            this.listener = listener;
+            this.light = light;
+            this.stateUpdate = stateUpdate;
+            this.fadeTime = fadeTime;
+        }
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final Supplier<Collection<FullGroup>> groups;
+    private final CommandSender sender;
+
+    private Map<String, LightCommand> pendingCommands = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param scheduler The scheduler sending the commands after the window.
+     * @param groups Supplies the groups known to the bridge.
+     * @param sender Sends the commands.
+     */
+    LightCommandCoalescer(ScheduledExecutorService scheduler, Supplier<Collection<FullGroup>> groups,
+            CommandSender sender) {
+        this.scheduler = scheduler;
+        this.groups = groups;
+        this.sender = sender;
+    }
+
+    /**
+     * Adds a command to a light, which is sent at the end of the current window.
+     */
+    synchronized void add(LightStatusListener listener, FullLight light, StateUpdate stateUpdate, long fadeTime) {
+        LightCommand pending = pendingCommands.get(light.getId());
+        if (pending == null) {
+            StateUpdate update = new StateUpdate().merge(stateUpdate);
+            pendingCommands.put(light.getId(), new LightCommand(listener, light, update, fadeTime));
+        } else {
+            pending.stateUpdate.merge(stateUpdate);
+            pending.fadeTime = fadeTime;
+        }
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, COALESCING_WINDOW, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends all pending commands.
+     */
+    void flush() {
+        Map<String, LightCommand> commands;
+        synchronized (this) {
+            commands = pendingCommands;
+            pendingCommands = new LinkedHashMap<>();
+            flushJob = null;
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        // the lights getting the same state, in the order of their first command
+        Map<String, List<LightCommand>> commandsByState = new LinkedHashMap<>();
+        for (LightCommand command : commands.values()) {
+            if (!command.stateUpdate.isEmpty()) {
+                commandsByState.computeIfAbsent(command.stateUpdate.toJson(), json -> new ArrayList<>()).add(command);
+            }
+        }
+
+        Set<LightCommand> singleCommands = new HashSet<>();
+        for (List<LightCommand> sameState : commandsByState.values()) {
+            FullGroup group = sameState.size() > 1 ? findGroup(sameState) : null;
+            if (group != null) {
+                sender.sendGroupCommand(group, sameState.get(0).stateUpdate, sameState);
+            } else {
+                singleCommands.addAll(sameState);
+            }
+        }
+        // the single commands keep the order they have been issued in
+        commands.values().stream().filter(singleCommands::contains).forEach(sender::sendLightCommand);
+    }
+
+    /**
+     * Cancels sending the pending commands.
+     */
+    synchronized void dispose() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        flushJob = null;
+        pendingCommands = new LinkedHashMap<>();
+    }
+
+    /**
+     * Returns a group consisting of exactly the lights of the given commands.
+     */
+    private @Nullable FullGroup findGroup(List<LightCommand> commands) {
+        Set<String> lightIds = new HashSet<>();
+        commands.forEach(command -> lightIds.add(command.light.getId()));
+        for (FullGroup group : groups.get()) {
+            List<String> groupLightIds = group.getLightIds();
+            if (groupLightIds.size() == lightIds.size() && lightIds.containsAll(groupLightIds)) {
+                return group;
+            }
+        }
+        return null;
+    }
+}
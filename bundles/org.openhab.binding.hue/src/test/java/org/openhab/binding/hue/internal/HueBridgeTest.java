@@ -13,6 +13,7 @@
 package org.openhab.binding.hue.internal;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -68,6 +69,37 @@ public class HueBridgeTest {
         assertThat(scenes.get(2).getId(), is("id2"));
     }
 
+    @Test
+    public void testGetSensorsIfChangedSkipsUnchangedResponse() throws IOException, ApiException {
+        HttpClient mockHttpClient = Mockito.mock(HttpClient.class);
+
+        HueBridge hueBridge = new HueBridge("ip", "baseUrl", "username", Executors.newScheduledThreadPool(1),
+                mockHttpClient);
+
+        when(mockHttpClient.get("baseUrl/username/sensors")).thenReturn(
+                new Result(createMockSensorResponse(false), 200), new Result(createMockSensorResponse(false), 200),
+                new Result(createMockSensorResponse(true), 200), new Result(createMockSensorResponse(true), 200));
+
+        List<FullSensor> sensors = hueBridge.getSensorsIfChanged();
+        assertThat(sensors.size(), is(1));
+        assertThat(sensors.get(0).getState().get(FullSensor.STATE_PRESENCE), is(false));
+        assertThat(hueBridge.getSensorsIfChanged(), is(nullValue()));
+
+        sensors = hueBridge.getSensorsIfChanged();
+        assertThat(sensors.get(0).getState().get(FullSensor.STATE_PRESENCE), is(true));
+
+        hueBridge.resetChangeDetection();
+        sensors = hueBridge.getSensorsIfChanged();
+        assertThat(sensors.get(0).getState().get(FullSensor.STATE_PRESENCE), is(true));
+    }
+
+    private static String createMockSensorResponse(boolean presence) {
+        return "{\"1\": {\"state\": {\"presence\": " + presence + ", \"lastupdated\": \"2020-11-21T10:00:00\"}, "
+                + "\"config\": {\"on\": true, \"reachable\": true}, \"name\": \"Hue motion sensor\", "
+                + "\"type\": \"ZLLPresence\", \"modelid\": \"SML001\", "
+                + "\"uniqueid\": \"00:17:88:01:02:03:04:05-02-0406\"}}";
+    }
+
     private static String createMockResponse(List<Scene> scenes) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("{");
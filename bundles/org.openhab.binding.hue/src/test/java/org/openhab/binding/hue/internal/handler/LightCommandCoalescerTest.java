@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.FullGroup;
+import org.openhab.binding.hue.internal.FullLight;
+import org.openhab.binding.hue.internal.StateUpdate;
+import org.openhab.binding.hue.internal.handler.LightCommandCoalescer.LightCommand;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for {@link LightCommandCoalescer}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class LightCommandCoalescerTest {
+
+    private final Gson gson = new Gson();
+    private final List<FullGroup> groups = new ArrayList<>();
+    private final List<String> sentLights = new ArrayList<>();
+    private final List<String> sentGroups = new ArrayList<>();
+    private final List<String> sentStates = new ArrayList<>();
+
+    private LightCommandCoalescer coalescer;
+
+    @BeforeEach
+    public void initialize() {
+        groups.add(createGroup("1", "1", "2", "3"));
+        coalescer = new LightCommandCoalescer(mock(ScheduledExecutorService.class), () -> groups,
+                new LightCommandCoalescer.CommandSender() {
+                    @Override
+                    public void sendLightCommand(LightCommand command) {
+                        sentLights.add(command.light.getId());
+                        sentStates.add(command.stateUpdate.toJson());
+                    }
+
+                    @Override
+                    public void sendGroupCommand(FullGroup group, StateUpdate stateUpdate,
+                            List<LightCommand> commands) {
+                        sentGroups.add(group.getId());
+                        sentStates.add(stateUpdate.toJson());
+                    }
+                });
+    }
+
+    @Test
+    public void sameStateToAllLightsOfGroupIsSentAsGroupAction() {
+        add("3", new StateUpdate().turnOn());
+        add("1", new StateUpdate().turnOn());
+        add("2", new StateUpdate().turnOn());
+        coalescer.flush();
+
+        assertEquals(List.of("1"), sentGroups);
+        assertEquals(List.of(), sentLights);
+        assertEquals(List.of("{\"on\":true}"), sentStates);
+    }
+
+    @Test
+    public void sameStateToSomeLightsOfGroupIsSentToEachLightInOrder() {
+        add("3", new StateUpdate().turnOn());
+        add("1", new StateUpdate().turnOn());
+        coalescer.flush();
+
+        assertEquals(List.of(), sentGroups);
+        assertEquals(List.of("3", "1"), sentLights);
+    }
+
+    @Test
+    public void differentStatesAreSentToEachLight() {
+        add("1", new StateUpdate().turnOn());
+        add("2", new StateUpdate().turnOff());
+        add("3", new StateUpdate().turnOn());
+        coalescer.flush();
+
+        assertEquals(List.of(), sentGroups);
+        assertEquals(List.of("1", "2", "3"), sentLights);
+    }
+
+    @Test
+    public void commandsToSameLightAreMerged() {
+        add("1", new StateUpdate().turnOn().setBrightness(100));
+        add("1", new StateUpdate().setColorTemperature(200));
+        add("1", new StateUpdate().setBrightness(50));
+        coalescer.flush();
+
+        assertEquals(List.of("1"), sentLights);
+        assertEquals(List.of("{\"on\":true,\"ct\":200,\"bri\":50}"), sentStates);
+    }
+
+    @Test
+    public void turningOffReplacesEarlierCommands() {
+        add("1", new StateUpdate().setBrightness(100));
+        add("1", new StateUpdate().turnOff());
+        coalescer.flush();
+
+        assertEquals(List.of("{\"on\":false}"), sentStates);
+    }
+
+    @Test
+    public void flushWithoutCommandsSendsNothing() {
+        coalescer.flush();
+
+        assertTrue(sentLights.isEmpty());
+        assertTrue(sentGroups.isEmpty());
+    }
+
+    private void add(String lightId, StateUpdate stateUpdate) {
+        FullLight light = gson.fromJson("{\"id\":\"" + lightId + "\"}", FullLight.class);
+        coalescer.add(mock(LightStatusListener.class), light, stateUpdate, 0);
+    }
+
+    private FullGroup createGroup(String groupId, String... lightIds) {
+        return gson.fromJson("{\"id\":\"" + groupId + "\",\"lights\":" + gson.toJson(lightIds) + "}", FullGroup.class);
+    }
+}
@@ -202,6 +202,24 @@ public class ICalendarHandler extends BaseBridgeHandler implements CalendarUpdat
         }
     }
 
+    @Override
+    public void onCalendarUpdated(AbstractPresentableCalendar calendar) {
+        logger.trace("replacing calendar of {} by downloaded one", getThing().getUID());
+        runtimeCalendar = calendar;
+        calendarDownloadedTime = Instant.now();
+        rescheduleCalendarStateUpdate();
+        updateStates();
+        updateChildren();
+    }
+
+    @Override
+    public void onCalendarUnchanged() {
+        calendarDownloadedTime = Instant.now();
+        if (runtimeCalendar != null) {
+            updateStates();
+        }
+    }
+
     /**
      * @return the calendar that is used for all operations
      */
@@ -15,14 +15,17 @@ package org.openhab.binding.icalendar.internal.handler;
 
 import static org.openhab.binding.icalendar.internal.ICalendarBindingConstants.HTTP_TIMEOUT_SECS;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -45,7 +48,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The Job for pulling an update of a calendar. Fires
- * {@link CalendarUpdateListener#onCalendarUpdated()} after successful update.
+ * {@link CalendarUpdateListener#onCalendarUpdated(AbstractPresentableCalendar)} after successful update.
+ *
+ * The calendar is requested conditionally, so an unchanged calendar is not transferred again if the server supports
+ * ETag or Last-Modified. If it is transferred anyway, it is only parsed if its content changed.
  *
  * @author Michael Wodniok - Initial contribution
  * @author Michael Wodniok - Added better descriptions for some errors while
@@ -53,6 +59,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 class PullJob implements Runnable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String HASH_ALGORITHM = "SHA-256";
     private static final String TMP_FILE_PREFIX = "icalendardld";
 
     private final Authentication.@Nullable Result authentication;
@@ -63,6 +71,11 @@ class PullJob implements Runnable {
     private final int maxSize;
     private final URI sourceURI;
 
+    // validators and hash of the stored calendar, for not downloading or parsing an unchanged calendar again
+    private @Nullable String entityTag;
+    private @Nullable String lastModified;
+    private byte @Nullable [] contentHash;
+
     /**
      * Constructor of PullJob for creating a single pull of a calendar.
      *
@@ -96,6 +109,15 @@ class PullJob implements Runnable {
             currentAuthentication.apply(request);
         }
 
+        final String currentEntityTag = entityTag;
+        if (currentEntityTag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, currentEntityTag);
+        }
+        final String currentLastModified = lastModified;
+        if (currentLastModified != null) {
+            request.header(HttpHeader.IF_MODIFIED_SINCE, currentLastModified);
+        }
+
         final InputStreamResponseListener asyncListener = new InputStreamResponseListener();
         request.send(asyncListener);
 
@@ -116,6 +138,11 @@ class PullJob implements Runnable {
             return;
         }
 
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED_304) {
+            logger.debug("Calendar at \"{}\" was not modified since last download.", sourceURI);
+            onUnchanged();
+            return;
+        }
         if (response.getStatus() != HttpStatus.OK_200) {
             logger.warn("Response status for getting \"{}\" was {} instead of 200. Ignoring it.", sourceURI,
                     response.getStatus());
@@ -123,9 +150,11 @@ class PullJob implements Runnable {
         }
 
         final String responseLength = response.getHeaders().get(HttpHeader.CONTENT_LENGTH);
+        int expectedLength = BUFFER_SIZE;
         if (responseLength != null) {
             try {
-                if (Integer.parseInt(responseLength) > maxSize) {
+                expectedLength = Integer.parseInt(responseLength);
+                if (expectedLength > maxSize) {
                     logger.warn(
                             "Calendar is too big ({} bytes > {} bytes), aborting request. You may change the maximum calendar size in configuration, if appropriate.",
                             responseLength, maxSize);
@@ -139,17 +168,11 @@ class PullJob implements Runnable {
             }
         }
 
-        File tmpTargetFile;
-        try {
-            tmpTargetFile = File.createTempFile(TMP_FILE_PREFIX, null);
-        } catch (IOException e) {
-            logger.warn("Not able to create temporary file for downloading iCal. Error message is: {}", e.getMessage());
-            return;
-        }
-
-        try (final FileOutputStream tmpOutStream = new FileOutputStream(tmpTargetFile);
+        final byte[] content;
+        try (final ByteArrayOutputStream contentStream = new ByteArrayOutputStream(
+                Math.max(0, Math.min(expectedLength, maxSize)));
                 final InputStream httpInputStream = asyncListener.getInputStream()) {
-            final byte[] buffer = new byte[1024];
+            final byte[] buffer = new byte[BUFFER_SIZE];
             int readBytesTotal = 0;
             int currentReadBytes = -1;
             while ((currentReadBytes = httpInputStream.read(buffer)) > -1) {
@@ -161,19 +184,42 @@ class PullJob implements Runnable {
                     response.abort(new ResponseTooBigException());
                     return;
                 }
-                tmpOutStream.write(buffer, 0, currentReadBytes);
+                contentStream.write(buffer, 0, currentReadBytes);
             }
+            content = contentStream.toByteArray();
         } catch (IOException e) {
-            logger.warn("Not able to write temporary file with downloaded iCal. Error Message is: {}", e.getMessage());
+            logger.warn("Not able to receive iCal. Error Message is: {}", e.getMessage());
             return;
         }
 
-        try (final FileInputStream tmpInput = new FileInputStream(tmpTargetFile)) {
-            AbstractPresentableCalendar.create(tmpInput);
+        final byte[] hash = hash(content);
+        if (Arrays.equals(hash, getStoredHash())) {
+            logger.debug("Downloaded calendar is unchanged. Skipping parsing it.");
+            storeValidators(response);
+            onUnchanged();
+            return;
+        }
+
+        final AbstractPresentableCalendar calendar;
+        try (final ByteArrayInputStream contentInput = new ByteArrayInputStream(content)) {
+            calendar = AbstractPresentableCalendar.create(contentInput);
         } catch (IOException | CalendarException e) {
-            logger.warn(
-                    "Not able to read downloaded iCal. Validation failed or file not readable. Error message is: {}",
-                    e.getMessage());
+            logger.warn("Not able to read downloaded iCal. Validation failed. Error message is: {}", e.getMessage());
+            return;
+        }
+
+        File tmpTargetFile;
+        try {
+            tmpTargetFile = File.createTempFile(TMP_FILE_PREFIX, null);
+        } catch (IOException e) {
+            logger.warn("Not able to create temporary file for downloading iCal. Error message is: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            Files.write(tmpTargetFile.toPath(), content);
+        } catch (IOException e) {
+            logger.warn("Not able to write temporary file with downloaded iCal. Error Message is: {}", e.getMessage());
             return;
         }
 
@@ -183,14 +229,65 @@ class PullJob implements Runnable {
             logger.warn("Failed to replace iCal file. Error message is: {}", e.getMessage());
             return;
         }
+        contentHash = hash;
+        storeValidators(response);
 
         try {
-            listener.onCalendarUpdated();
+            listener.onCalendarUpdated(calendar);
         } catch (Exception e) {
             logger.debug("An Exception was thrown while calling back", e);
         }
     }
 
+    /**
+     * Marks the stored calendar as up to date and notifies the listener.
+     */
+    private void onUnchanged() {
+        if (!destination.setLastModified(System.currentTimeMillis())) {
+            logger.debug("Not able to update modification time of iCal file.");
+        }
+        try {
+            listener.onCalendarUnchanged();
+        } catch (Exception e) {
+            logger.debug("An Exception was thrown while calling back", e);
+        }
+    }
+
+    /**
+     * Remembers the validators of the response for the conditional request of the next pull.
+     */
+    private void storeValidators(Response response) {
+        entityTag = response.getHeaders().get(HttpHeader.ETAG);
+        lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
+    }
+
+    /**
+     * Returns the hash of the stored calendar. After a restart it is calculated from the destination file once.
+     *
+     * @return The hash or null, if no calendar is stored.
+     */
+    private byte @Nullable [] getStoredHash() {
+        byte[] storedHash = contentHash;
+        if (storedHash == null && destination.isFile()) {
+            try {
+                storedHash = hash(Files.readAllBytes(destination.toPath()));
+                contentHash = storedHash;
+            } catch (IOException e) {
+                logger.debug("Not able to read iCal file for comparison. Error message is: {}", e.getMessage());
+            }
+        }
+        return storedHash;
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Interface for calling back when the update succeed.
      */
@@ -199,6 +296,22 @@ class PullJob implements Runnable {
          * Callback when update was successful and result was placed onto target file.
          */
         public void onCalendarUpdated();
+
+        /**
+         * Callback when update was successful and result was placed onto target file. The calendar has already been
+         * parsed while validating it, so it does not need to be loaded from the file again.
+         *
+         * @param calendar The updated calendar.
+         */
+        public default void onCalendarUpdated(AbstractPresentableCalendar calendar) {
+            onCalendarUpdated();
+        }
+
+        /**
+         * Callback when the calendar was pulled successfully, but has not changed since the last update.
+         */
+        public default void onCalendarUnchanged() {
+        }
     }
 
     /**
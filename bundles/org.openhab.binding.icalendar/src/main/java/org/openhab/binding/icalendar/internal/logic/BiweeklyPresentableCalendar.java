@@ -21,13 +21,18 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.icalendar.internal.logic.EventTextFilter.Type;
+import org.openhab.binding.icalendar.internal.logic.OccurrenceIndex.Occurrence;
+import org.openhab.binding.icalendar.internal.logic.OccurrenceIndex.Series;
 
 import biweekly.ICalendar;
 import biweekly.component.VEvent;
@@ -52,6 +57,10 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
  * use {@link AbstractPresentableCalendar#create(InputStream)} for productive
  * instantiation.
  *
+ * The occurrences of the events are kept in an {@link OccurrenceIndex}, so
+ * the recurrences are not expanded again on every query. Queries the index
+ * can not answer expand the events directly.
+ *
  * @author Michael Wodniok - Initial contribution
  * @author Andrew Fiddian-Green - Methods getJustBegunEvents() & getJustEndedEvents()
  * @author Michael Wodniok - Extension for filtered events
@@ -59,6 +68,7 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
 @NonNullByDefault
 class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
     private final ICalendar usedCalendar;
+    private final OccurrenceIndex index;
 
     BiweeklyPresentableCalendar(InputStream streamed) throws IOException, CalendarException {
         try (final ICalReader reader = new ICalReader(streamed)) {
@@ -68,6 +78,13 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             }
             this.usedCalendar = currentCalendar;
         }
+        final List<Series> series = new ArrayList<>();
+        for (final VEvent event : usedCalendar.getEvents()) {
+            final Uid eventUid = event.getUid();
+            series.add(new Series(event, series.size(), getEventLength(event), isPositive(event),
+                    eventUid != null ? eventUid.getValue() : null));
+        }
+        this.index = new OccurrenceIndex(series, this::getRecurredEventDateIterator);
     }
 
     @Override
@@ -82,6 +99,22 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustBegunEvents(Instant frameBegin, Instant frameEnd) {
+        synchronized (index) {
+            if (index.cover(frameBegin, frameEnd)) {
+                // the first occurrence of every event, in the order of the events
+                final Map<Integer, Occurrence> firstOccurrences = new TreeMap<>();
+                for (final Occurrence occurrence : index.getStartingBetween(frameBegin, frameEnd.plusNanos(1))) {
+                    firstOccurrences.putIfAbsent(occurrence.series.order, occurrence);
+                }
+                final List<Event> eventList = new ArrayList<>();
+                for (final Occurrence occurrence : firstOccurrences.values()) {
+                    eventList.add(new VEventWPeriod(occurrence.series.vEvent, occurrence.start,
+                            occurrence.getEnd(Duration.ofMinutes(1))).toEvent());
+                }
+                return eventList;
+            }
+        }
+
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -108,6 +141,22 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustEndedEvents(Instant frameBegin, Instant frameEnd) {
+        synchronized (index) {
+            if (index.cover(frameBegin, frameEnd)) {
+                // the first occurrence of every event, in the order of the events
+                final Map<Integer, Occurrence> firstOccurrences = new TreeMap<>();
+                for (final Occurrence occurrence : index.getEndingBetween(frameBegin, frameEnd.plusNanos(1))) {
+                    firstOccurrences.putIfAbsent(occurrence.series.order, occurrence);
+                }
+                final List<Event> eventList = new ArrayList<>();
+                for (final Occurrence occurrence : firstOccurrences.values()) {
+                    eventList.add(new VEventWPeriod(occurrence.series.vEvent, occurrence.start,
+                            occurrence.getEnd(Duration.ZERO)).toEvent());
+                }
+                return eventList;
+            }
+        }
+
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -135,6 +184,39 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public @Nullable Event getNextEvent(Instant instant) {
+        Instant directlyAfter = instant;
+        synchronized (index) {
+            if (index.cover(instant, instant)) {
+                Instant scanFrom = instant.plusNanos(1);
+                while (true) {
+                    final Instant scanTo = index.getFrameEnd();
+                    for (final Occurrence occurrence : index.getStartingBetween(scanFrom, scanTo)) {
+                        if (occurrence.series.positive && occurrence.series.duration != null
+                                && !occurrence.countered) {
+                            return new VEventWPeriod(occurrence.series.vEvent, occurrence.start,
+                                    occurrence.getEnd(Duration.ZERO)).toEvent();
+                        }
+                    }
+                    scanFrom = scanTo;
+                    final Instant pending = index.getNextPending();
+                    if (pending == null) {
+                        return null;
+                    }
+                    if (!index.cover(instant, pending)) {
+                        // too far in the future for the index
+                        directlyAfter = scanFrom.minusNanos(1);
+                        break;
+                    }
+                }
+            }
+        }
+        return getNextEventDirectly(directlyAfter);
+    }
+
+    /**
+     * Searches the next event after given instant by expanding all events.
+     */
+    private @Nullable Event getNextEventDirectly(Instant instant) {
         final Collection<VEventWPeriod> candidates = new ArrayList<VEventWPeriod>();
         final Collection<VEvent> negativeEvents = new ArrayList<VEvent>();
         final Collection<VEvent> positiveEvents = new ArrayList<VEvent>();
@@ -178,51 +260,50 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
     @Override
     public List<Event> getFilteredEventsBetween(Instant begin, Instant end, @Nullable EventTextFilter filter,
             int maximumCount) {
-        List<VEventWPeriod> candidates = this.getVEventWPeriodsBetween(begin, end, maximumCount);
-        final List<Event> results = new ArrayList<>(candidates.size());
-
-        if (filter != null) {
-            Pattern filterPattern;
-            if (filter.type == Type.TEXT) {
-                filterPattern = Pattern.compile(".*" + Pattern.quote(filter.value) + ".*",
-                        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-            } else {
-                filterPattern = Pattern.compile(filter.value);
-            }
-
-            Class<? extends TextProperty> propertyClass;
-            switch (filter.field) {
-                case SUMMARY:
-                    propertyClass = Summary.class;
-                    break;
-                case COMMENT:
-                    propertyClass = Comment.class;
-                    break;
-                case CONTACT:
-                    propertyClass = Contact.class;
-                    break;
-                case DESCRIPTION:
-                    propertyClass = Description.class;
-                    break;
-                case LOCATION:
-                    propertyClass = Location.class;
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown Property to filter for.");
-            }
+        final Predicate<VEvent> eventFilter = createEventFilter(filter);
+        if (maximumCount == 0) {
+            return new ArrayList<>();
+        }
 
-            List<VEventWPeriod> filteredCandidates = candidates.stream().filter(current -> {
-                List<? extends TextProperty> properties = current.vEvent.getProperties(propertyClass);
-                for (TextProperty prop : properties) {
-                    if (filterPattern.matcher(prop.getValue()).matches()) {
-                        return true;
+        final List<VEventWPeriod> candidates = new ArrayList<>();
+        Instant directBegin = begin;
+        synchronized (index) {
+            if (index.cover(begin, begin)) {
+                Instant scanFrom = begin;
+                while (true) {
+                    final Instant covered = index.getFrameEnd();
+                    final Instant scanTo = end.isBefore(covered) ? end.plusNanos(1) : covered;
+                    for (final Occurrence occurrence : index.getStartingBetween(scanFrom, scanTo)) {
+                        if (occurrence.series.positive && !occurrence.countered
+                                && eventFilter.test(occurrence.series.vEvent)) {
+                            candidates.add(new VEventWPeriod(occurrence.series.vEvent, occurrence.start,
+                                    occurrence.getEnd(Duration.ZERO)));
+                        }
                     }
+                    scanFrom = scanTo;
+                    final Instant pending = index.getNextPending();
+                    if (candidates.size() >= maximumCount || end.isBefore(covered) || pending == null
+                            || pending.isAfter(end)) {
+                        directBegin = null;
+                        break;
+                    }
+                    if (!index.cover(begin, pending)) {
+                        // the rest of the time range is too far in the future for the index
+                        directBegin = scanFrom;
+                        break;
+                    }
+                }
+            }
+        }
+        if (directBegin != null) {
+            for (final VEventWPeriod candidate : getVEventWPeriodsBetween(directBegin, end, maximumCount)) {
+                if (eventFilter.test(candidate.vEvent)) {
+                    candidates.add(candidate);
                 }
-                return false;
-            }).collect(Collectors.toList());
-            candidates = filteredCandidates;
+            }
         }
 
+        final List<Event> results = new ArrayList<>(candidates.size());
         for (VEventWPeriod eventWPeriod : candidates) {
             results.add(eventWPeriod.toEvent());
         }
@@ -232,6 +313,56 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return results.subList(0, (maximumCount > results.size() ? results.size() : maximumCount));
     }
 
+    /**
+     * Creates a filter for events which matches the given text filter.
+     *
+     * @param filter The text filter, if set to null all events will match.
+     * @return The filter for events.
+     */
+    private static Predicate<VEvent> createEventFilter(@Nullable EventTextFilter filter) {
+        if (filter == null) {
+            return event -> true;
+        }
+        Pattern filterPattern;
+        if (filter.type == Type.TEXT) {
+            filterPattern = Pattern.compile(".*" + Pattern.quote(filter.value) + ".*",
+                    Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+        } else {
+            filterPattern = Pattern.compile(filter.value);
+        }
+
+        Class<? extends TextProperty> propertyClass;
+        switch (filter.field) {
+            case SUMMARY:
+                propertyClass = Summary.class;
+                break;
+            case COMMENT:
+                propertyClass = Comment.class;
+                break;
+            case CONTACT:
+                propertyClass = Contact.class;
+                break;
+            case DESCRIPTION:
+                propertyClass = Description.class;
+                break;
+            case LOCATION:
+                propertyClass = Location.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown Property to filter for.");
+        }
+
+        return event -> {
+            List<? extends TextProperty> properties = event.getProperties(propertyClass);
+            for (TextProperty prop : properties) {
+                if (filterPattern.matcher(prop.getValue()).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
     /**
      * Finds events which begin in the given frame.
      *
@@ -291,13 +422,23 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      */
     private void classifyEvents(Collection<VEvent> positiveEvents, Collection<VEvent> negativeEvents) {
         for (final VEvent currentEvent : usedCalendar.getEvents()) {
-            final Status eventStatus = currentEvent.getStatus();
-            boolean positive = (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
-            final Collection<VEvent> positiveOrNegativeEvents = (positive ? positiveEvents : negativeEvents);
+            final Collection<VEvent> positiveOrNegativeEvents = (isPositive(currentEvent) ? positiveEvents
+                    : negativeEvents);
             positiveOrNegativeEvents.add(currentEvent);
         }
     }
 
+    /**
+     * Checks whether an event is a positive one, i.e. it takes place and does not cancel other events.
+     *
+     * @param vEvent The event to check.
+     * @return True if the event is tentative, confirmed or has no status.
+     */
+    private static boolean isPositive(VEvent vEvent) {
+        final Status eventStatus = vEvent.getStatus();
+        return (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
+    }
+
     /**
      * Searches for a current event at given Instant.
      *
@@ -305,6 +446,22 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return A VEventWPeriod describing the event or null if there is none.
      */
     private @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
+        synchronized (index) {
+            if (index.cover(instant, instant)) {
+                // the first event in the order of the calendar wins
+                Occurrence current = null;
+                for (final Occurrence occurrence : index.getRunningAt(instant)) {
+                    if (occurrence.series.positive && !occurrence.countered
+                            && (current == null || occurrence.series.order < current.series.order)) {
+                        current = occurrence;
+                    }
+                }
+                return current != null
+                        ? new VEventWPeriod(current.series.vEvent, current.start, current.getEnd(Duration.ZERO))
+                        : null;
+            }
+        }
+
         final List<VEvent> negativeEvents = new ArrayList<VEvent>();
         final List<VEvent> positiveEvents = new ArrayList<VEvent>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import biweekly.component.VEvent;
+import biweekly.util.com.google.ical.compat.javautil.DateIterator;
+
+/**
+ * An index of the expanded occurrences of all events of a calendar, sorted by their start and by their end.
+ *
+ * The recurrences are expanded once for a frame of time around the queried instants and kept, so queries are answered
+ * by binary search. The frame is extended lazily when later instants are queried. Once it spans more than
+ * {@link #MAX_SPAN}, the occurrences at its beginning are dropped, so it slides along with the time. Queries far
+ * before the frame or spanning more than {@link #MAX_SPAN} are not answered by the index, the events have to be
+ * expanded directly then.
+ *
+ * Callers which query the index several times for one result have to synchronize on it.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class OccurrenceIndex {
+    /** How far the frame is extended beyond the queried instants, so following queries are covered as well */
+    private static final Duration HORIZON = Duration.ofDays(7);
+    /** How far the frame begins before the earliest queried instant */
+    private static final Duration LOOKBACK = Duration.ofDays(1);
+    /** The maximum time the frame spans */
+    private static final Duration MAX_SPAN = Duration.ofDays(100);
+
+    private static final Comparator<Occurrence> START_ORDER = Comparator.comparing((Occurrence o) -> o.start)
+            .thenComparingInt(o -> o.series.order);
+    private static final Comparator<Occurrence> END_ORDER = Comparator
+            .comparing((Occurrence o) -> o.getEnd(Duration.ZERO)).thenComparingInt(o -> o.series.order);
+
+    /**
+     * An event of the calendar together with the state of the expansion of its recurrences.
+     */
+    static class Series {
+        final VEvent vEvent;
+        /** The position of the event in the calendar */
+        final int order;
+        final @Nullable Duration duration;
+        /** False if the event counters the occurrences of other events with the same uid */
+        final boolean positive;
+        final @Nullable String uid;
+
+        private @Nullable DateIterator dates;
+        /** The start of the next occurrence which has not been indexed yet */
+        private @Nullable Instant next;
+
+        Series(VEvent vEvent, int order, @Nullable Duration duration, boolean positive, @Nullable String uid) {
+            this.vEvent = vEvent;
+            this.order = order;
+            this.duration = duration;
+            this.positive = positive;
+            this.uid = uid;
+        }
+
+        private void advance() {
+            DateIterator currentDates = dates;
+            next = currentDates != null && currentDates.hasNext() ? currentDates.next().toInstant() : null;
+        }
+    }
+
+    /**
+     * A single occurrence of an event.
+     */
+    static class Occurrence {
+        final Series series;
+        final Instant start;
+        /** True if the occurrence has been cancelled by a negative event */
+        boolean countered;
+
+        Occurrence(Series series, Instant start) {
+            this.series = series;
+            this.start = start;
+        }
+
+        /**
+         * Returns the end of the occurrence, using the given duration if the event has none.
+         */
+        Instant getEnd(Duration defaultDuration) {
+            Duration duration = series.duration;
+            return start.plus(duration != null ? duration : defaultDuration);
+        }
+    }
+
+    private final List<Series> series;
+    private final Function<VEvent, DateIterator> dateIterators;
+    private final Duration maxDuration;
+
+    // the occurrences starting between the begin of the frame minus the longest duration and the end of the frame
+    private List<Occurrence> byStart = new ArrayList<>();
+    // the same occurrences, only those of events having a duration
+    private List<Occurrence> byEnd = new ArrayList<>();
+    // the starts of the occurrences of negative events by their uid
+    private final Map<String, Set<Instant>> counterStarts = new HashMap<>();
+    private @Nullable Instant frameBegin;
+    private Instant frameEnd = Instant.MIN;
+
+    /**
+     * @param series The events of the calendar in their order.
+     * @param dateIterators Creates an iterator over the starts of the occurrences of an event.
+     */
+    OccurrenceIndex(List<Series> series, Function<VEvent, DateIterator> dateIterators) {
+        this.series = series;
+        this.dateIterators = dateIterators;
+        Duration longest = Duration.ZERO;
+        for (Series current : series) {
+            Duration duration = current.duration;
+            if (duration != null && duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+        }
+        this.maxDuration = longest;
+    }
+
+    /**
+     * Prepares the index for a query of the occurrences which are running between begin and end, i.e. all
+     * occurrences starting before end and ending after begin are indexed afterwards.
+     *
+     * @param begin The earliest instant of the query.
+     * @param end The latest instant of the query.
+     * @return False if the index can not answer the query.
+     */
+    synchronized boolean cover(Instant begin, Instant end) {
+        if (Duration.between(begin, end).compareTo(MAX_SPAN) > 0) {
+            return false;
+        }
+        Instant currentBegin = frameBegin;
+        if (currentBegin == null || begin.isAfter(frameEnd.plus(MAX_SPAN))) {
+            // expanding the events again is cheaper than indexing a long gap
+            reset(begin.minus(LOOKBACK));
+        } else if (begin.isBefore(currentBegin)) {
+            if (begin.isBefore(currentBegin.minus(MAX_SPAN))) {
+                // a query far in the past would throw away the frame of the current queries
+                return false;
+            }
+            reset(begin.minus(LOOKBACK));
+        }
+        if (!end.isBefore(frameEnd)) {
+            extendTo(end.plus(HORIZON));
+            Instant earliestBegin = frameEnd.minus(MAX_SPAN);
+            Instant queryBegin = begin.minus(LOOKBACK);
+            trimTo(earliestBegin.isBefore(queryBegin) ? earliestBegin : queryBegin);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the end of the frame. All occurrences starting before are indexed.
+     */
+    synchronized Instant getFrameEnd() {
+        return frameEnd;
+    }
+
+    /**
+     * Returns the start of the earliest occurrence which has not been indexed yet.
+     *
+     * @return The start or null, if all occurrences of all events are indexed.
+     */
+    synchronized @Nullable Instant getNextPending() {
+        Instant earliest = null;
+        for (Series current : series) {
+            Instant next = current.next;
+            if (next != null && (earliest == null || next.isBefore(earliest))) {
+                earliest = next;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Returns the indexed occurrences starting in the given range, ordered by their start and the order of their
+     * events.
+     *
+     * @param from The inclusive begin of the range.
+     * @param to The exclusive end of the range.
+     */
+    synchronized List<Occurrence> getStartingBetween(Instant from, Instant to) {
+        int first = lowerBound(byStart, from, o -> o.start);
+        int last = lowerBound(byStart, to, o -> o.start);
+        return new ArrayList<>(byStart.subList(first, Math.max(first, last)));
+    }
+
+    /**
+     * Returns the indexed occurrences of events with a duration ending in the given range, ordered by their end and
+     * the order of their events.
+     *
+     * @param from The inclusive begin of the range.
+     * @param to The exclusive end of the range.
+     */
+    synchronized List<Occurrence> getEndingBetween(Instant from, Instant to) {
+        int first = lowerBound(byEnd, from, o -> o.getEnd(Duration.ZERO));
+        int last = lowerBound(byEnd, to, o -> o.getEnd(Duration.ZERO));
+        return new ArrayList<>(byEnd.subList(first, Math.max(first, last)));
+    }
+
+    /**
+     * Returns the indexed occurrences which are running at the given instant, i.e. have started before and end
+     * after it, ordered by their start and the order of their events.
+     */
+    synchronized List<Occurrence> getRunningAt(Instant instant) {
+        List<Occurrence> running = new ArrayList<>();
+        for (Occurrence occurrence : getStartingBetween(instant.minus(maxDuration), instant)) {
+            if (occurrence.series.duration != null && occurrence.getEnd(Duration.ZERO).isAfter(instant)) {
+                running.add(occurrence);
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Expands all events again, beginning at the given instant.
+     */
+    private void reset(Instant begin) {
+        Date expansionBegin = Date.from(begin.minus(maxDuration));
+        for (Series current : series) {
+            DateIterator dates = dateIterators.apply(current.vEvent);
+            dates.advanceTo(expansionBegin);
+            current.dates = dates;
+            current.advance();
+        }
+        byStart = new ArrayList<>();
+        byEnd = new ArrayList<>();
+        counterStarts.clear();
+        frameBegin = begin;
+        frameEnd = begin;
+    }
+
+    /**
+     * Indexes all occurrences starting before the given instant.
+     */
+    private void extendTo(Instant end) {
+        List<Occurrence> added = new ArrayList<>();
+        for (Series current : series) {
+            Instant next = current.next;
+            while (next != null && next.isBefore(end)) {
+                added.add(new Occurrence(current, next));
+                String uid = current.uid;
+                if (!current.positive && uid != null) {
+                    counterStarts.computeIfAbsent(uid, u -> new HashSet<>()).add(next);
+                }
+                current.advance();
+                next = current.next;
+            }
+        }
+        // all occurrences of a negative event starting at the same time have been added in the same extension
+        for (Occurrence occurrence : added) {
+            String uid = occurrence.series.uid;
+            if (occurrence.series.positive && uid != null) {
+                Set<Instant> starts = counterStarts.get(uid);
+                occurrence.countered = starts != null && starts.contains(occurrence.start);
+            }
+        }
+        added.sort(START_ORDER);
+        // the new occurrences start after all indexed ones, but may end before some of them
+        byStart.addAll(added);
+        for (Occurrence occurrence : added) {
+            if (occurrence.series.duration != null) {
+                byEnd.add(occurrence);
+            }
+        }
+        byEnd.sort(END_ORDER);
+        frameEnd = end;
+    }
+
+    /**
+     * Drops the occurrences which are not needed for queries at or after the given instant anymore.
+     */
+    private void trimTo(Instant begin) {
+        Instant currentBegin = frameBegin;
+        if (currentBegin == null || !begin.isAfter(currentBegin)) {
+            return;
+        }
+        Instant threshold = begin.minus(maxDuration);
+        int first = lowerBound(byStart, threshold, o -> o.start);
+        byStart = new ArrayList<>(byStart.subList(first, byStart.size()));
+        byEnd.removeIf(o -> o.start.isBefore(threshold));
+        counterStarts.values().forEach(starts -> starts.removeIf(start -> start.isBefore(threshold)));
+        counterStarts.values().removeIf(Set::isEmpty);
+        frameBegin = begin;
+    }
+
+    /**
+     * Returns the index of the first element whose key is not before the given instant.
+     */
+    private static int lowerBound(List<Occurrence> occurrences, Instant instant, Function<Occurrence, Instant> key) {
+        int low = 0;
+        int high = occurrences.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (key.apply(occurrences.get(middle)).isBefore(instant)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -586,4 +586,29 @@ public class BiweeklyPresentableCalendarTest {
                 Instant.parse("2019-12-31T00:00:00Z"), null, 3);
         assertEquals(0, realFilteredEvents6.size());
     }
+
+    /**
+     * Tests that the results do not depend on the instants queried before, which move the indexed time frame.
+     */
+    @SuppressWarnings("null")
+    @Test
+    public void testResultsIndependentOfQueryOrder() {
+        List<Event> expected = calendar2.getFilteredEventsBetween(Instant.parse("2019-11-08T06:00:00Z"),
+                Instant.parse("2019-12-31T06:00:00Z"), null, 3);
+
+        // a query far in the future moves the time frame, a query far in the past is answered without the index
+        assertNull(calendar.getCurrentEvent(Instant.parse("2030-01-01T00:00:00Z")));
+        calendar.getJustBegunEvents(Instant.parse("2000-01-01T00:00:00Z"), Instant.parse("2000-01-02T00:00:00Z"));
+
+        Event nextEventOfSeries = calendar.getNextEvent(Instant.parse("2019-09-10T09:07:00Z"));
+        assertNotNull(nextEventOfSeries);
+        assertEquals(Instant.parse("2019-09-11T09:05:00Z"), nextEventOfSeries.start);
+        Event currentEvent = calendar.getCurrentEvent(Instant.parse("2019-09-10T09:07:00Z"));
+        assertNotNull(currentEvent);
+        assertEquals(Instant.parse("2019-09-10T09:05:00Z"), currentEvent.start);
+
+        calendar2.getNextEvent(Instant.parse("2025-01-01T00:00:00Z"));
+        assertEquals(expected, calendar2.getFilteredEventsBetween(Instant.parse("2019-11-08T06:00:00Z"),
+                Instant.parse("2019-12-31T06:00:00Z"), null, 3));
+    }
 }
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link GifEncoder} creates looping animated GIF files from JPEG snapshots, without the need of FFmpeg. It is
+ * used for GIF recordings with a preroll, where the snapshots are already held in RAM.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class GifEncoder {
+    private static final String GIF_METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final int frameDelay;
+    private final int maxHeight;
+
+    /**
+     * @param frameDelay how long each snapshot is shown in milliseconds.
+     * @param maxHeight snapshots higher than this are scaled down to this height, 0 keeps the original size.
+     */
+    public GifEncoder(int frameDelay, int maxHeight) {
+        this.frameDelay = frameDelay;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Writes the snapshots as an animated GIF to the stream. Snapshots that can not be decoded are skipped.
+     *
+     * @param snapshots the JPEG snapshots, oldest first.
+     * @param out the stream to write the GIF to, it is not closed.
+     * @return the number of frames written.
+     * @throws IOException if the GIF could not be written.
+     */
+    public int encode(List<byte[]> snapshots, OutputStream out) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("gif");
+        if (!writers.hasNext()) {
+            throw new IOException("No GIF image writer is available.");
+        }
+        ImageWriter writer = writers.next();
+        int frames = 0;
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.prepareWriteSequence(null);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            for (byte[] snapshot : snapshots) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(snapshot));
+                if (image == null) {
+                    logger.debug("Skipping a snapshot that is not a valid image.");
+                    continue;
+                }
+                image = scale(image);
+                IIOMetadata metadata = writer.getDefaultImageMetadata(new ImageTypeSpecifier(image), param);
+                setFrameMetadata(metadata, frames == 0);
+                writer.writeToSequence(new IIOImage(image, null, metadata), param);
+                frames++;
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return frames;
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        if (maxHeight <= 0 || image.getHeight() <= maxHeight) {
+            return image;
+        }
+        int width = Math.max(1, image.getWidth() * maxHeight / image.getHeight());
+        BufferedImage scaled = new BufferedImage(width, maxHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, maxHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void setFrameMetadata(IIOMetadata metadata, boolean firstFrame) throws IOException {
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(GIF_METADATA_FORMAT);
+        IIOMetadataNode graphicControl = getOrCreateNode(root, "GraphicControlExtension");
+        graphicControl.setAttribute("disposalMethod", "none");
+        graphicControl.setAttribute("userInputFlag", "FALSE");
+        graphicControl.setAttribute("transparentColorFlag", "FALSE");
+        graphicControl.setAttribute("transparentColorIndex", "0");
+        // GIF delays are in hundredths of a second
+        graphicControl.setAttribute("delayTime", Integer.toString(frameDelay / 10));
+        if (firstFrame) {
+            // NETSCAPE2.0 extension with a loop count of 0 to loop forever
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[] { 1, 0, 0 });
+            getOrCreateNode(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(GIF_METADATA_FORMAT, root);
+    }
+
+    private IIOMetadataNode getOrCreateNode(IIOMetadataNode root, String name) {
+        for (int i = 0; i < root.getLength(); i++) {
+            if (name.equalsIgnoreCase(root.item(i).getNodeName())) {
+                return (IIOMetadataNode) root.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+}
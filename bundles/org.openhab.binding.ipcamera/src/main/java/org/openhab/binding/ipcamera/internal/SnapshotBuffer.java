@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link SnapshotBuffer} is a ring buffer that keeps the most recent snapshots of a camera, used as the preroll of
+ * GIF recordings. It holds at most a fixed number of snapshots and evicts the oldest ones as soon as the snapshots
+ * use more memory than allowed. The snapshots are stored as they are and never copied, they must not be modified after
+ * they have been added.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotBuffer {
+    private byte[] @Nullable [] snapshots = new byte[0][];
+    private int oldest = 0;
+    private int size = 0;
+    private long usedBytes = 0;
+    private long maxBytes = Long.MAX_VALUE;
+
+    /**
+     * Changes how many snapshots are kept and how much memory they may use. The newest snapshots are kept if the
+     * buffer shrinks.
+     *
+     * @param capacity the number of snapshots to keep, 0 disables the buffer.
+     * @param maxBytes the memory in bytes the snapshots may use.
+     */
+    public synchronized void configure(int capacity, long maxBytes) {
+        this.maxBytes = maxBytes;
+        if (capacity != snapshots.length) {
+            List<byte[]> current = getSnapshots();
+            snapshots = new byte[Math.max(0, capacity)][];
+            oldest = size = 0;
+            usedBytes = 0;
+            for (byte[] snapshot : current.subList(Math.max(0, current.size() - snapshots.length), current.size())) {
+                add(snapshot);
+            }
+        }
+        trim();
+    }
+
+    /**
+     * Adds a snapshot, evicting the oldest one if the buffer is full.
+     *
+     * @param snapshot the JPEG, it must not be modified afterwards.
+     */
+    public synchronized void add(byte[] snapshot) {
+        if (snapshots.length == 0) {
+            return;
+        }
+        if (size == snapshots.length) {
+            evictOldest();
+        }
+        snapshots[(oldest + size) % snapshots.length] = snapshot;
+        size++;
+        usedBytes += snapshot.length;
+        trim();
+    }
+
+    /**
+     * @return the stored snapshots, oldest first.
+     */
+    public synchronized List<byte[]> getSnapshots() {
+        List<byte[]> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byte[] snapshot = snapshots[(oldest + i) % snapshots.length];
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        while (size > 0) {
+            evictOldest();
+        }
+    }
+
+    private void trim() {
+        // always keep the newest snapshot, even if it alone is larger than allowed.
+        while (size > 1 && usedBytes > maxBytes) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        byte[] snapshot = snapshots[oldest];
+        if (snapshot != null) {
+            usedBytes -= snapshot.length;
+        }
+        snapshots[oldest] = null;
+        oldest = (oldest + 1) % snapshots.length;
+        size--;
+    }
+}
@@ -15,8 +15,8 @@ package org.openhab.binding.ipcamera.internal.handler;
 
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -27,7 +27,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -47,6 +46,7 @@ import org.openhab.binding.ipcamera.internal.DahuaHandler;
 import org.openhab.binding.ipcamera.internal.DoorBirdHandler;
 import org.openhab.binding.ipcamera.internal.Ffmpeg;
 import org.openhab.binding.ipcamera.internal.FoscamHandler;
+import org.openhab.binding.ipcamera.internal.GifEncoder;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
 import org.openhab.binding.ipcamera.internal.HikvisionHandler;
@@ -56,6 +56,7 @@ import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
+import org.openhab.binding.ipcamera.internal.SnapshotBuffer;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.core.library.types.DecimalType;
@@ -164,7 +165,13 @@ public class IpCameraHandler extends BaseThingHandler {
     private String mp4Filename = "ipcamera";
     private int mp4RecordTime;
     private int gifRecordTime = 5;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<byte[]>();
+    // GIF preroll snapshots are shown for 500ms each and scaled to 360 lines, like the default gifOutOptions.
+    // Any other gifOutOptions are left to FFmpeg.
+    private static final String DEFAULT_GIF_OUT_OPTIONS = "-r 2 -filter_complex "
+            + "scale=-2:360:flags=lanczos,setpts=0.5*PTS,split[o1][o2];[o1]palettegen[p];[o2]fifo[o3];[o3][p]paletteuse";
+    private static final int GIF_FRAME_DELAY = 500;
+    private static final int GIF_MAX_HEIGHT = 360;
+    private final SnapshotBuffer snapshotBuffer = new SnapshotBuffer();
     private int snapCount;
     private boolean updateImageChannel = false;
     private boolean updateAutoFps = false;
@@ -622,15 +629,12 @@ public class IpCameraHandler extends BaseThingHandler {
         lockCurrentSnapshot.lock();
         try {
             currentSnapshot = incommingSnapshot;
-            if (cameraConfig.getGifPreroll() > 0) {
-                fifoSnapshotBuffer.add(incommingSnapshot);
-                if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
-                    fifoSnapshotBuffer.removeFirst();
-                }
-            }
         } finally {
             lockCurrentSnapshot.unlock();
         }
+        if (cameraConfig.getGifPreroll() > 0) {
+            snapshotBuffer.add(incommingSnapshot);
+        }
 
         if (streamingSnapshotMjpeg) {
             sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
@@ -830,16 +834,24 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
+        sendMjpegFrame(Unpooled.wrappedBuffer(jpg), channelGroup);
+    }
+
+    /**
+     * Sends a frame of a MJPEG stream to every channel of the group. The frame is written once as a composite of the
+     * part header, the JPEG and the footer, and each channel gets a retained duplicate of it instead of a copy.
+     *
+     * @param jpg the JPEG, ownership is passed to this method which releases it once it has been written.
+     * @param channelGroup the channels to stream the frame to.
+     */
+    public void sendMjpegFrame(ByteBuf jpg, ChannelGroup channelGroup) {
         final String boundary = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
+        int length = jpg.readableBytes();
         String header = "--" + boundary + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
                 + "\r\n\r\n";
         ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
         ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
-        streamToGroup(footerBbuf, channelGroup, true);
+        streamToGroup(Unpooled.wrappedBuffer(headerBbuf, jpg, footerBbuf), channelGroup, true);
     }
 
     public void streamToGroup(Object msg, ChannelGroup channelGroup, boolean flush) {
@@ -849,26 +861,47 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
-    private void storeSnapshots() {
+    private void configureSnapshotBuffer() {
+        int capacity = cameraConfig.getGifPreroll() > 0 ? cameraConfig.getGifPreroll() + gifRecordTime : 0;
+        snapshotBuffer.configure(capacity, cameraConfig.getGifPrerollMemory() * 1024L * 1024L);
+    }
+
+    /**
+     * @return true if the GIF can be created from the preroll snapshots without FFmpeg, which is only done if the
+     *         gifOutOptions are not customised.
+     */
+    private boolean isGifCreatedFromSnapshots() {
+        String options = cameraConfig.getGifOutOptions().replaceAll("\\s+", " ").trim();
+        return options.isEmpty() || DEFAULT_GIF_OUT_OPTIONS.equals(options);
+    }
+
+    /**
+     * Creates the GIF straight from the snapshots held in RAM, without FFmpeg. The snapshots are stored to disk
+     * afterwards, so they do not delay the GIF.
+     */
+    private void createGifFromSnapshots(List<byte[]> snapshots, String filename) {
+        File file = new File(cameraConfig.getFfmpegOutput() + filename + ".gif");
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            int frames = new GifEncoder(GIF_FRAME_DELAY, GIF_MAX_HEIGHT).encode(snapshots, out);
+            logger.debug("Created {} from {} snapshots.", file, frames);
+        } catch (IOException e) {
+            logger.warn("Could not create the GIF file {}: {}", file, e.getMessage());
+        }
+        setChannelState(CHANNEL_RECORDING_GIF, DecimalType.ZERO);
+        setChannelState(CHANNEL_GIF_HISTORY_LENGTH, new DecimalType(++gifHistoryLength));
+        storeSnapshots(snapshots);
+    }
+
+    private void storeSnapshots(List<byte[]> snapshots) {
         int count = 0;
-        // Need to lock as fifoSnapshotBuffer is not thread safe and new snapshots can be incoming.
-        lockCurrentSnapshot.lock();
-        try {
-            for (byte[] foo : fifoSnapshotBuffer) {
-                File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
-                count++;
-                try {
-                    OutputStream fos = new FileOutputStream(file);
-                    fos.write(foo);
-                    fos.close();
-                } catch (FileNotFoundException e) {
-                    logger.warn("FileNotFoundException {}", e.getMessage());
-                } catch (IOException e) {
-                    logger.warn("IOException {}", e.getMessage());
-                }
+        for (byte[] snapshot : snapshots) {
+            File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
+            count++;
+            try (OutputStream fos = new FileOutputStream(file)) {
+                fos.write(snapshot);
+            } catch (IOException e) {
+                logger.warn("IOException {}", e.getMessage());
             }
-        } finally {
-            lockCurrentSnapshot.unlock();
         }
     }
 
@@ -915,13 +948,22 @@ public class IpCameraHandler extends BaseThingHandler {
                 }
                 break;
             case GIF:
-                if (cameraConfig.getGifPreroll() > 0) {
+                if (cameraConfig.getGifPreroll() > 0 && isGifCreatedFromSnapshots()) {
+                    List<byte[]> snapshots = snapshotBuffer.getSnapshots();
+                    String filename = gifFilename;
+                    threadPool.submit(() -> createGifFromSnapshots(snapshots, filename));
+                } else if (cameraConfig.getGifPreroll() > 0) {
+                    List<byte[]> snapshots = snapshotBuffer.getSnapshots();
+                    storeSnapshots(snapshots);
                     ffmpegGIF = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(),
                             "-y -r 1 -hide_banner -loglevel warning", cameraConfig.getFfmpegOutput() + "snapshot%d.jpg",
-                            "-frames:v " + (cameraConfig.getGifPreroll() + gifRecordTime) + " "
-                                    + cameraConfig.getGifOutOptions(),
+                            "-frames:v " + snapshots.size() + " " + cameraConfig.getGifOutOptions(),
                             cameraConfig.getFfmpegOutput() + gifFilename + ".gif", cameraConfig.getUser(),
                             cameraConfig.getPassword());
+                    Ffmpeg localGIF = ffmpegGIF;
+                    if (localGIF != null) {
+                        localGIF.startConverting();
+                    }
                 } else {
                     if (!inputOptions.isEmpty()) {
                         inputOptions = "-y -t " + gifRecordTime + " -hide_banner -loglevel warning " + inputOptions;
@@ -931,24 +973,21 @@ public class IpCameraHandler extends BaseThingHandler {
                     ffmpegGIF = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(), inputOptions, rtspUri,
                             cameraConfig.getGifOutOptions(), cameraConfig.getFfmpegOutput() + gifFilename + ".gif",
                             cameraConfig.getUser(), cameraConfig.getPassword());
+                    Ffmpeg localGIF = ffmpegGIF;
+                    if (localGIF != null) {
+                        localGIF.startConverting();
+                    }
                 }
-                if (cameraConfig.getGifPreroll() > 0) {
-                    storeSnapshots();
-                }
-                Ffmpeg localGIF = ffmpegGIF;
-                if (localGIF != null) {
-                    localGIF.startConverting();
-                    if (gifHistory.isEmpty()) {
-                        gifHistory = gifFilename;
-                    } else if (!gifFilename.equals("ipcamera")) {
-                        gifHistory = gifFilename + "," + gifHistory;
-                        if (gifHistoryLength > 49) {
-                            int endIndex = gifHistory.lastIndexOf(",");
-                            gifHistory = gifHistory.substring(0, endIndex);
-                        }
+                if (gifHistory.isEmpty()) {
+                    gifHistory = gifFilename;
+                } else if (!gifFilename.equals("ipcamera")) {
+                    gifHistory = gifFilename + "," + gifHistory;
+                    if (gifHistoryLength > 49) {
+                        int endIndex = gifHistory.lastIndexOf(",");
+                        gifHistory = gifHistory.substring(0, endIndex);
                     }
-                    setChannelState(CHANNEL_GIF_HISTORY, new StringType(gifHistory));
                 }
+                setChannelState(CHANNEL_GIF_HISTORY, new StringType(gifHistory));
                 break;
             case RECORD:
                 if (!inputOptions.isEmpty()) {
@@ -1127,6 +1166,7 @@ public class IpCameraHandler extends BaseThingHandler {
         gifFilename = filename;
         gifRecordTime = seconds;
         if (cameraConfig.getGifPreroll() > 0) {
+            configureSnapshotBuffer();
             snapCount = seconds;
         } else {
             setupFfmpegFormat(FFmpegFormat.GIF);
@@ -1621,6 +1661,7 @@ public class IpCameraHandler extends BaseThingHandler {
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
+        configureSnapshotBuffer();
 
         if (cameraConfig.getServerPort() < 1) {
             logger.warn(
@@ -1763,6 +1804,7 @@ public class IpCameraHandler extends BaseThingHandler {
             localFfmpeg.stopConverting();
         }
         channelTrackingMap.clear();
+        snapshotBuffer.clear();
     }
 
     public void setStreamServerHandler(StreamServerHandler streamServerHandler2) {
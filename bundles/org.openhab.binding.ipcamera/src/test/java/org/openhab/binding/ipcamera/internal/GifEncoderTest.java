@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link GifEncoder}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class GifEncoderTest {
+
+    @Test
+    public void testGifHasValidHeader() throws IOException {
+        byte[] gif = encode(new GifEncoder(500, 0), List.of(jpeg(64, 48, Color.RED)));
+
+        assertEquals("GIF89a", new String(gif, 0, 6, StandardCharsets.US_ASCII));
+        assertEquals(0x3B, gif[gif.length - 1], "GIF must end with the trailer");
+    }
+
+    @Test
+    public void testOneFramePerSnapshot() throws IOException {
+        GifEncoder encoder = new GifEncoder(500, 0);
+        List<byte[]> snapshots = List.of(jpeg(64, 48, Color.RED), jpeg(64, 48, Color.GREEN),
+                jpeg(64, 48, Color.BLUE));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(3, encoder.encode(snapshots, out));
+        assertEquals(3, countFrames(out.toByteArray()));
+    }
+
+    @Test
+    public void testInvalidSnapshotsAreSkipped() throws IOException {
+        GifEncoder encoder = new GifEncoder(500, 0);
+        List<byte[]> snapshots = List.of(jpeg(64, 48, Color.RED), new byte[] { 1, 2, 3 }, jpeg(64, 48, Color.BLUE));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, encoder.encode(snapshots, out));
+        assertEquals(2, countFrames(out.toByteArray()));
+    }
+
+    @Test
+    public void testLargeSnapshotsAreScaledDown() throws IOException {
+        byte[] gif = encode(new GifEncoder(500, 24), List.of(jpeg(64, 48, Color.RED)));
+
+        BufferedImage frame = ImageIO.read(new ByteArrayInputStream(gif));
+        assertEquals(24, frame.getHeight());
+        assertEquals(32, frame.getWidth());
+    }
+
+    @Test
+    public void testSmallSnapshotsKeepTheirSize() throws IOException {
+        byte[] gif = encode(new GifEncoder(500, 360), List.of(jpeg(64, 48, Color.RED)));
+
+        BufferedImage frame = ImageIO.read(new ByteArrayInputStream(gif));
+        assertEquals(48, frame.getHeight());
+        assertEquals(64, frame.getWidth());
+    }
+
+    private static byte[] encode(GifEncoder encoder, List<byte[]> snapshots) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(snapshots, out);
+        return out.toByteArray();
+    }
+
+    private static int countFrames(byte[] gif) throws IOException {
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(gif))) {
+            reader.setInput(in);
+            return reader.getNumImages(true);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static byte[] jpeg(int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
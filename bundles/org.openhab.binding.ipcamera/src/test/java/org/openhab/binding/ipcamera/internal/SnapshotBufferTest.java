@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SnapshotBuffer}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class SnapshotBufferTest {
+
+    private SnapshotBuffer buffer;
+
+    @BeforeEach
+    public void init() {
+        buffer = new SnapshotBuffer();
+        buffer.configure(3, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testSnapshotsAreReturnedOldestFirst() {
+        buffer.add(snapshot(1, 10));
+        buffer.add(snapshot(2, 10));
+
+        assertSnapshots(buffer.getSnapshots(), 1, 2);
+    }
+
+    @Test
+    public void testOldestSnapshotsAreEvictedOnWrapAround() {
+        for (int i = 1; i <= 7; i++) {
+            buffer.add(snapshot(i, 10));
+        }
+
+        assertSnapshots(buffer.getSnapshots(), 5, 6, 7);
+    }
+
+    @Test
+    public void testSnapshotsAreStoredByReference() {
+        byte[] snapshot = snapshot(1, 10);
+        buffer.add(snapshot);
+
+        assertSame(snapshot, buffer.getSnapshots().get(0));
+    }
+
+    @Test
+    public void testMemoryLimitEvictsOldestSnapshots() {
+        buffer.configure(3, 25);
+        buffer.add(snapshot(1, 10));
+        buffer.add(snapshot(2, 10));
+        buffer.add(snapshot(3, 10));
+
+        assertSnapshots(buffer.getSnapshots(), 2, 3);
+    }
+
+    @Test
+    public void testNewestSnapshotIsKeptEvenIfItIsTooLarge() {
+        buffer.configure(3, 5);
+        buffer.add(snapshot(1, 10));
+
+        assertSnapshots(buffer.getSnapshots(), 1);
+    }
+
+    @Test
+    public void testShrinkingKeepsNewestSnapshotsInOrder() {
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(snapshot(i, 10));
+        }
+        buffer.configure(2, Long.MAX_VALUE);
+
+        assertSnapshots(buffer.getSnapshots(), 4, 5);
+
+        buffer.add(snapshot(6, 10));
+        assertSnapshots(buffer.getSnapshots(), 5, 6);
+    }
+
+    @Test
+    public void testGrowingKeepsSnapshotsInOrder() {
+        for (int i = 1; i <= 4; i++) {
+            buffer.add(snapshot(i, 10));
+        }
+        buffer.configure(5, Long.MAX_VALUE);
+        buffer.add(snapshot(5, 10));
+
+        assertSnapshots(buffer.getSnapshots(), 2, 3, 4, 5);
+    }
+
+    @Test
+    public void testZeroCapacityDisablesBuffer() {
+        buffer.configure(0, Long.MAX_VALUE);
+        buffer.add(snapshot(1, 10));
+
+        assertTrue(buffer.getSnapshots().isEmpty());
+    }
+
+    @Test
+    public void testClearRemovesAllSnapshots() {
+        buffer.add(snapshot(1, 10));
+        buffer.add(snapshot(2, 10));
+        buffer.clear();
+
+        assertTrue(buffer.getSnapshots().isEmpty());
+
+        buffer.add(snapshot(3, 10));
+        assertSnapshots(buffer.getSnapshots(), 3);
+    }
+
+    private static byte[] snapshot(int id, int length) {
+        byte[] snapshot = new byte[length];
+        snapshot[0] = (byte) id;
+        return snapshot;
+    }
+
+    private static void assertSnapshots(List<byte[]> snapshots, int... ids) {
+        assertEquals(ids.length, snapshots.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], snapshots.get(i)[0]);
+        }
+    }
+}
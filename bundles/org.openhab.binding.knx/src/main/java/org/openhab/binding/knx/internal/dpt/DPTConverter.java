@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.DPTXlator8BitUnsigned;
+
+/**
+ * A datapoint type id resolved once into everything {@link KNXCoreTypeMapper} needs to convert telegrams of that type.
+ *
+ * For the most frequent datapoint types (1.x, 5.x, 9.x and 14.x) the converter decodes the ASDU directly into the
+ * openHAB type, bypassing the Calimero {@link DPTXlator} and its string representation. The decoding mirrors the one
+ * done by the respective translator, so both paths yield the same values.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class DPTConverter {
+
+    /**
+     * Decodes the value of a datapoint from the raw ASDU bytes.
+     */
+    @FunctionalInterface
+    private interface Decoder {
+        Type decode(byte[] data);
+    }
+
+    /**
+     * Converts the numeric value of a datapoint into its openHAB type.
+     */
+    @FunctionalInterface
+    private interface NumericDecoder {
+        double decode(byte[] data);
+    }
+
+    private static final DPTConverter GENERIC = new DPTConverter(Integer.MAX_VALUE, null);
+
+    private final int minLength;
+    private final @Nullable Decoder decoder;
+
+    private DPTConverter(int minLength, @Nullable Decoder decoder) {
+        this.minLength = minLength;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Returns the converter for datapoint types without direct decoding, telegrams of such types are always
+     * converted by the Calimero translator.
+     *
+     * @return a converter without direct decoding
+     */
+    static DPTConverter generic() {
+        return GENERIC;
+    }
+
+    /**
+     * Creates a converter for the given datapoint type.
+     *
+     * @param dptId the datapoint type id as reported by the Calimero translator, e.g. "9.001"
+     * @param mainNumber the main number of the datapoint type
+     * @param subNumber the sub number of the datapoint type
+     * @param typeClass the openHAB type class the datapoint type maps to, may be {@code null}
+     * @return the converter
+     */
+    static DPTConverter create(String dptId, int mainNumber, int subNumber,
+            @Nullable Class<? extends Type> typeClass) {
+        switch (mainNumber) {
+            case 1:
+                return new DPTConverter(1, booleanDecoder(subNumber));
+            case 5:
+                return numeric(1, typeClass, unsigned8BitDecoder(dptId));
+            case 9:
+                return numeric(2, typeClass, DPTConverter::decode2ByteFloat);
+            case 14:
+                return numeric(4, typeClass, DPTConverter::decode4ByteFloat);
+            default:
+                return GENERIC;
+        }
+    }
+
+    /**
+     * Decodes the ASDU directly into an openHAB type.
+     *
+     * @param data the ASDU of the telegram
+     * @return the openHAB type or {@code null} if this datapoint type (or the given data) has to be converted by the
+     *         Calimero translator
+     */
+    @Nullable
+    Type decode(byte[] data) {
+        Decoder decoder = this.decoder;
+        if (decoder == null || data.length < minLength) {
+            return null;
+        }
+        return decoder.decode(data);
+    }
+
+    private static DPTConverter numeric(int minLength, @Nullable Class<? extends Type> typeClass,
+            NumericDecoder numericDecoder) {
+        Decoder decoder = null;
+        if (PercentType.class.equals(typeClass)) {
+            decoder = data -> new PercentType(BigDecimal.valueOf(Math.round(numericDecoder.decode(data))));
+        } else if (DecimalType.class.equals(typeClass)) {
+            decoder = data -> new DecimalType(numericDecoder.decode(data));
+        }
+        return decoder != null ? new DPTConverter(minLength, decoder) : GENERIC;
+    }
+
+    private static Decoder booleanDecoder(int subNumber) {
+        switch (subNumber) {
+            case 8:
+                return data -> (data[0] & 0x01) != 0 ? UpDownType.DOWN : UpDownType.UP;
+            case 9:
+            case 19:
+                return data -> (data[0] & 0x01) != 0 ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case 10:
+                return data -> (data[0] & 0x01) != 0 ? StopMoveType.MOVE : StopMoveType.STOP;
+            case 22:
+                return data -> (data[0] & 0x01) != 0 ? DecimalType.valueOf("1") : DecimalType.valueOf("0");
+            default:
+                return data -> (data[0] & 0x01) != 0 ? OnOffType.ON : OnOffType.OFF;
+        }
+    }
+
+    private static NumericDecoder unsigned8BitDecoder(String dptId) {
+        if (DPTXlator8BitUnsigned.DPT_SCALING.getID().equals(dptId)) {
+            return data -> (data[0] & 0xFF) * 100.0 / 255.0;
+        } else if (DPTXlator8BitUnsigned.DPT_ANGLE.getID().equals(dptId)) {
+            return data -> (data[0] & 0xFF) * 360.0 / 255.0;
+        }
+        return data -> data[0] & 0xFF;
+    }
+
+    /**
+     * Decodes a KNX 2-byte float (DPT 9.x) with the bit layout MEEEEMMM MMMMMMMM.
+     */
+    static double decode2ByteFloat(byte[] data) {
+        // left align the sign and the mantissa bits and shift them back to get the signed mantissa
+        int mantissa = ((data[0] & 0x80) << 24 | (data[0] & 0x07) << 28 | (data[1] & 0xFF) << 20) >> 20;
+        int exponent = (data[0] & 0x78) >> 3;
+        return ((1 << exponent) * mantissa) * 0.01;
+    }
+
+    /**
+     * Decodes an IEEE 754 single precision float (DPT 14.x).
+     */
+    static double decode4ByteFloat(byte[] data) {
+        return Float.intBitsToFloat(
+                (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF));
+    }
+}
@@ -13,8 +13,6 @@
 package org.openhab.binding.knx.internal.dpt;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -24,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -107,6 +106,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the resolved converter for each KNX datapoint type id seen in {@link #toType(Datapoint, byte[])} */
+    private final Map<String, DPTConverter> converters = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -672,6 +674,36 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        DPTConverter converter = converters.computeIfAbsent(datapoint.getDPT(), this::createConverter);
+        Type type = converter.decode(data);
+        if (type != null) {
+            return type;
+        }
+        return toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Resolves a datapoint type id into a {@link DPTConverter}. This is done only once per datapoint type id, the
+     * result is kept in {@link #converters}.
+     *
+     * @param dptId the datapoint type id
+     * @return the converter, telegrams of datapoint types which cannot be resolved are passed on to the translator
+     */
+    private DPTConverter createConverter(String dptId) {
+        try {
+            String id = TranslatorTypes.createTranslator(0, dptId).getType().getID();
+            int mainNumber = getMainNumber(id);
+            int subNumber = getSubNumber(id);
+            if (mainNumber != -1 && subNumber != -1) {
+                return DPTConverter.create(id, mainNumber, subNumber, toTypeClass(id));
+            }
+        } catch (KNXException e) {
+            // nothing to resolve, the translator will report the failure for each telegram
+        }
+        return DPTConverter.generic();
+    }
+
+    private Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -729,27 +761,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                         case 8:
                             return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
                     }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
                     break;
                 case 18:
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
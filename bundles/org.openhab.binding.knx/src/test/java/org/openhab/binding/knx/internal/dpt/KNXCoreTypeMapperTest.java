@@ -16,6 +16,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
  *
@@ -29,4 +36,27 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_decodesCommonDPTsDirectly() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(OnOffType.ON, mapper.toType(datapoint("1.001"), new byte[] { 0x01 }));
+        assertEquals(OpenClosedType.OPEN, mapper.toType(datapoint("1.009"), new byte[] { 0x01 }));
+        assertEquals(new PercentType(100), mapper.toType(datapoint("5.001"), new byte[] { (byte) 0xFF }));
+        assertEquals(new DecimalType(360), mapper.toType(datapoint("5.003"), new byte[] { (byte) 0xFF }));
+        assertEquals(new DecimalType(21), mapper.toType(datapoint("9.001"), new byte[] { 0x0C, 0x1A }));
+        assertEquals(new DecimalType(-1), mapper.toType(datapoint("9.001"), new byte[] { (byte) 0x87, (byte) 0x9C }));
+        assertEquals(new DecimalType(1.5), mapper.toType(datapoint("14.001"), new byte[] { 0x3F, (byte) 0xC0, 0, 0 }));
+    }
+
+    @Test
+    public void testToType_invalidDataIsRejected() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertNull(mapper.toType(datapoint("9.001"), new byte[] { 0x0C }));
+        assertNull(mapper.toType(datapoint("9.999"), new byte[] { 0x0C, 0x1A }));
+    }
+
+    private static Datapoint datapoint(String dpt) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt);
+    }
 }
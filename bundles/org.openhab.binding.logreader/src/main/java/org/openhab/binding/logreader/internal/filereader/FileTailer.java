@@ -12,13 +12,30 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
@@ -26,49 +43,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * {@link WatchService} based log file reader implementation.
+ *
+ * The reader sleeps until the file system reports a change of the log file. New content is read through a
+ * {@link FileChannel} into a reusable buffer and the complete lines are delivered to the listeners in batches.
+ * After a change the reader waits for the refresh rate before reading, so a burst of log lines is delivered as a
+ * single batch. A rotation is detected by a changed file key (the inode on Unix like systems) or a shrunk file.
  *
  * @author Pauli Anttila - Initial contribution
  */
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
-    private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
-
-    private Tailer tailer;
-    private ExecutorService executor;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BATCH_SIZE = 1000;
+    // file systems like network shares may not report changes, so the file is checked at this interval in any case
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
 
-    TailerListener logListener = new TailerListenerAdapter() {
+    private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
-        @Override
-        public void handle(@Nullable String line) {
-            sendLineToListeners(line);
-        }
+    private final Charset charset = Charset.defaultCharset();
+    // a heap buffer, so the lines are split directly on its backing array
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] chunk = buffer.array();
+    // the beginning of a line which has not been terminated yet
+    private byte[] lineBuffer = new byte[256];
+    private int lineLength;
 
-        @Override
-        public void fileNotFound() {
-            sendFileNotFoundToListeners();
-        }
-
-        @Override
-        public void handle(@Nullable Exception e) {
-            sendExceptionToListeners(e);
-        }
+    private volatile boolean running;
+    private ExecutorService executor;
+    private WatchService watchService;
 
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
-        }
-    };
+    private @Nullable FileChannel channel;
+    private @Nullable Object fileKey;
+    private @Nullable WatchKey watchKey;
 
     @Override
     public void start(String filePath, long refreshRate) throws FileReaderException {
-        tailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
-        executor = Executors.newSingleThreadExecutor();
         try {
+            Path path = Paths.get(filePath).toAbsolutePath();
+            watchService = path.getFileSystem().newWatchService();
+            running = true;
+            executor = Executors.newSingleThreadExecutor();
             logger.debug("Start executor");
-            executor.execute(tailer);
+            executor.execute(() -> tail(path, refreshRate));
             logger.debug("Executor started");
-        } catch (Exception e) {
+        } catch (InvalidPathException | IOException e) {
             throw new FileReaderException(e);
         }
     }
@@ -76,12 +95,198 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
     @Override
     public void stop() {
         logger.debug("Shutdown");
-        if (tailer != null) {
-            tailer.stop();
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Closing the watch service failed", e);
+            }
         }
         if (executor != null) {
-            executor.shutdown();
+            executor.shutdownNow();
         }
         logger.debug("Shutdown complite");
     }
+
+    private void tail(Path path, long refreshRate) {
+        boolean firstOpen = true;
+        try {
+            while (running) {
+                WatchKey key = watchKey;
+                if (key == null || !key.isValid()) {
+                    watchKey = watchDirectory(path);
+                }
+                if (channel == null) {
+                    // only the content written after the start is of interest, a new file is read from its beginning
+                    if (open(path, firstOpen)) {
+                        read();
+                    } else {
+                        sendFileNotFoundToListeners();
+                    }
+                    firstOpen = false;
+                } else {
+                    readChanges(path);
+                }
+                awaitChange(path, refreshRate);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // the reader has been stopped
+        } catch (IOException | RuntimeException e) {
+            if (running) {
+                sendExceptionToListeners(e);
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private @Nullable WatchKey watchDirectory(Path path) throws IOException {
+        Path directory = path.getParent();
+        try {
+            return directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private boolean open(Path path, boolean atEnd) throws IOException {
+        try {
+            FileChannel newChannel = FileChannel.open(path, StandardOpenOption.READ);
+            fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            if (atEnd) {
+                newChannel.position(newChannel.size());
+            }
+            channel = newChannel;
+            lineLength = 0;
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void close() {
+        FileChannel oldChannel = channel;
+        channel = null;
+        if (oldChannel != null) {
+            try {
+                oldChannel.close();
+            } catch (IOException e) {
+                logger.debug("Closing the log file failed", e);
+            }
+        }
+    }
+
+    private void readChanges(Path path) throws IOException {
+        FileChannel currentChannel = Objects.requireNonNull(channel);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            // the file has been moved away, but the lines written until then are still readable
+            read();
+            return;
+        }
+        Object newFileKey = attributes.fileKey();
+        if (newFileKey != null && !newFileKey.equals(fileKey)) {
+            // the file has been replaced, finish the old one before starting with the new one
+            read();
+            close();
+            sendFileRotationToListeners();
+            if (open(path, false)) {
+                read();
+            }
+        } else if (attributes.size() < currentChannel.position()) {
+            // the file has been truncated
+            sendFileRotationToListeners();
+            currentChannel.position(0);
+            lineLength = 0;
+            read();
+        } else if (attributes.size() > currentChannel.position()) {
+            read();
+        }
+    }
+
+    /**
+     * Reads the content up to the end of the file and delivers all complete lines to the listeners.
+     */
+    private void read() throws IOException {
+        FileChannel currentChannel = Objects.requireNonNull(channel);
+        List<String> lines = new ArrayList<>();
+        int count;
+        while (running && (count = readChunk(currentChannel)) > 0) {
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                if (chunk[i] == '\n') {
+                    appendToLine(start, i);
+                    int length = lineLength > 0 && lineBuffer[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                    lines.add(new String(lineBuffer, 0, length, charset));
+                    lineLength = 0;
+                    start = i + 1;
+                    if (lines.size() >= MAX_BATCH_SIZE) {
+                        sendLinesToListeners(lines);
+                        lines = new ArrayList<>();
+                    }
+                }
+            }
+            appendToLine(start, count);
+        }
+        if (!lines.isEmpty()) {
+            sendLinesToListeners(lines);
+        }
+    }
+
+    private int readChunk(FileChannel currentChannel) throws IOException {
+        buffer.clear();
+        return currentChannel.read(buffer);
+    }
+
+    private void appendToLine(int start, int end) {
+        int length = end - start;
+        if (lineLength + length > lineBuffer.length) {
+            lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineBuffer.length * 2, lineLength + length));
+        }
+        System.arraycopy(chunk, start, lineBuffer, lineLength, length);
+        lineLength += length;
+    }
+
+    /**
+     * Blocks until the log file has changed or the check interval has passed. If the directory can not be watched,
+     * the file is checked at the refresh rate.
+     */
+    private void awaitChange(Path path, long refreshRate) throws InterruptedException {
+        long timeout = watchKey != null && channel != null ? CHECK_INTERVAL : refreshRate;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            WatchKey key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+            if (key == null) {
+                return;
+            }
+            if (isChanged(key, path.getFileName())) {
+                // give a burst of lines the chance to be written completely, so it is delivered as one batch
+                Thread.sleep(refreshRate);
+                while ((key = watchService.poll()) != null) {
+                    isChanged(key, path.getFileName());
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean isChanged(WatchKey key, Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                changed = true;
+            }
+        }
+        if (!key.reset()) {
+            // the directory is gone and has to be watched again
+            watchKey = null;
+            changed = true;
+        }
+        return changed;
+    }
 }
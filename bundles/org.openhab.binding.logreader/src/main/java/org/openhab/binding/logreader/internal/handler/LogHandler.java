@@ -15,11 +15,13 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.regex.PatternSyntaxException;
 
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
@@ -95,9 +97,14 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         clearCounters();
 
         try {
-            warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
-            errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
-            customEngine = new SearchEngine(configuration.customPatterns, configuration.customBlacklistingPatterns);
+            // all engines share one matcher, so each line is scanned once for all patterns
+            MultiPatternMatcher matcher = new MultiPatternMatcher();
+            warningEngine = new SearchEngine(matcher, configuration.warningPatterns,
+                    configuration.warningBlacklistingPatterns);
+            errorEngine = new SearchEngine(matcher, configuration.errorPatterns,
+                    configuration.errorBlacklistingPatterns);
+            customEngine = new SearchEngine(matcher, configuration.customPatterns,
+                    configuration.customBlacklistingPatterns);
 
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
@@ -171,29 +178,41 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     }
 
     @Override
-    public void handle(String line) {
-        if (line == null) {
-            return;
-        }
-
+    public void handle(List<String> lines) {
         if (!(thing.getStatus() == ThingStatus.ONLINE)) {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine.isMatching(line)) {
+        String lastError = null;
+        String lastWarning = null;
+        String lastCustomEvent = null;
+        for (String line : lines) {
+            if (errorEngine.isMatching(line)) {
+                lastError = line;
+                triggerChannel(CHANNEL_NEWERROR, line);
+            }
+            if (warningEngine.isMatching(line)) {
+                lastWarning = line;
+                triggerChannel(CHANNEL_NEWWARNING, line);
+            }
+            if (customEngine.isMatching(line)) {
+                lastCustomEvent = line;
+                triggerChannel(CHANNEL_NEWCUSTOM, line);
+            }
+        }
+
+        // the states are only published once per batch of lines
+        if (lastError != null) {
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
-            triggerChannel(CHANNEL_NEWERROR, line);
+            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(lastError));
         }
-        if (warningEngine.isMatching(line)) {
+        if (lastWarning != null) {
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
-            triggerChannel(CHANNEL_NEWWARNING, line);
+            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(lastWarning));
         }
-        if (customEngine.isMatching(line)) {
+        if (lastCustomEvent != null) {
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
-            triggerChannel(CHANNEL_NEWCUSTOM, line);
+            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(lastCustomEvent));
         }
     }
 
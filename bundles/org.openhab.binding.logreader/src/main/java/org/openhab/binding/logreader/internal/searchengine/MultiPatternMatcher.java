@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * This class matches a line against the search patterns of several pattern classes at once, e.g. the search and
+ * blacklisting patterns of all search engines of a log reader.
+ *
+ * The literal text every pattern starts with is extracted and all those literals are searched with a single
+ * Aho-Corasick automaton, so each line is scanned once. Patterns which consist of a literal only are decided by that
+ * scan, the regular expression of any other pattern is only evaluated if the line contains its literal prefix.
+ *
+ * The result of the last line is kept, so several search engines sharing a matcher evaluate each line once.
+ *
+ * The result of {@link #match(String)} is a bit mask of the matching classes, so a matcher holds at most 32 classes.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcher {
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String QUANTIFIERS = "?*{";
+
+    private static class PatternEntry {
+        final @Nullable Matcher matcher;
+        final int literalId;
+
+        PatternEntry(@Nullable Matcher matcher, int literalId) {
+            this.matcher = matcher;
+            this.literalId = literalId;
+        }
+    }
+
+    private static class PatternClass {
+        final List<PatternEntry> patterns = new ArrayList<>();
+        final int requiredClass;
+
+        PatternClass(int requiredClass) {
+            this.requiredClass = requiredClass;
+        }
+    }
+
+    private static class Node {
+        final Map<Character, Integer> next = new HashMap<>();
+        int fail;
+        int[] outputs = new int[0];
+    }
+
+    private final List<PatternClass> classes = new ArrayList<>();
+    private final Map<String, Integer> literals = new LinkedHashMap<>();
+
+    private @Nullable List<Node> automaton;
+    private boolean[] found = new boolean[0];
+
+    private @Nullable String lastData;
+    private int lastResult;
+
+    /**
+     * Adds a pattern class which is always evaluated.
+     *
+     * @param patterns search patterns separated by '|'.
+     * @return the id of the class in the result of {@link #match(String)}.
+     */
+    public int addPatterns(@Nullable String patterns) throws PatternSyntaxException {
+        return addPatterns(patterns, -1);
+    }
+
+    /**
+     * Adds a pattern class which is only evaluated if another class has matched, e.g. blacklisting patterns.
+     *
+     * @param patterns search patterns separated by '|'.
+     * @param requiredClass the class which has to match, or -1 to always evaluate this class.
+     * @return the id of the class in the result of {@link #match(String)}.
+     * @throws IllegalStateException if the matcher already holds 32 classes.
+     * @throws IllegalArgumentException if the required class has not been added before.
+     */
+    public synchronized int addPatterns(@Nullable String patterns, int requiredClass) throws PatternSyntaxException {
+        if (classes.size() >= Integer.SIZE) {
+            throw new IllegalStateException("Too many pattern classes, at most " + Integer.SIZE + " are supported");
+        }
+        if (requiredClass < -1 || requiredClass >= classes.size()) {
+            throw new IllegalArgumentException("Unknown pattern class " + requiredClass);
+        }
+        PatternClass patternClass = new PatternClass(requiredClass);
+        if (patterns != null && !patterns.isEmpty()) {
+            for (String patternStr : patterns.split("\\|")) {
+                patternClass.patterns.add(compile(patternStr));
+            }
+        }
+        classes.add(patternClass);
+        automaton = null;
+        lastData = null;
+        return classes.size() - 1;
+    }
+
+    /**
+     * Checks which pattern classes match the given data.
+     *
+     * @param data data against search will be done.
+     * @return a bit mask which has the bit of each matching class id set.
+     */
+    public synchronized int match(String data) {
+        // The search engines of a log reader are called one after the other with the same line instance, so comparing
+        // the reference is enough to reuse the result. A line which is only equal to the last one is evaluated again.
+        if (data == lastData) {
+            return lastResult;
+        }
+        List<Node> nodes = automaton;
+        if (nodes == null) {
+            nodes = buildAutomaton();
+            automaton = nodes;
+            found = new boolean[literals.size()];
+        }
+        scan(nodes, data);
+
+        int result = 0;
+        for (int id = 0; id < classes.size(); id++) {
+            PatternClass patternClass = classes.get(id);
+            if (patternClass.requiredClass >= 0 && (result & (1 << patternClass.requiredClass)) == 0) {
+                continue;
+            }
+            for (PatternEntry entry : patternClass.patterns) {
+                if (entry.literalId >= 0 && !found[entry.literalId]) {
+                    continue;
+                }
+                Matcher matcher = entry.matcher;
+                if (matcher == null || matcher.reset(data).find()) {
+                    result |= 1 << id;
+                    break;
+                }
+            }
+        }
+        lastData = data;
+        lastResult = result;
+        return result;
+    }
+
+    private PatternEntry compile(String patternStr) throws PatternSyntaxException {
+        Pattern pattern = Pattern.compile(patternStr);
+        StringBuilder literal = new StringBuilder();
+        boolean pureLiteral = extractLiteralPrefix(patternStr, literal);
+        int literalId = -1;
+        if (literal.length() > 0) {
+            literalId = literals.computeIfAbsent(literal.toString(), l -> literals.size());
+        }
+        // a pure literal is decided by the automaton, an empty pattern matches anything
+        return new PatternEntry(pureLiteral ? null : pattern.matcher(""), literalId);
+    }
+
+    /**
+     * Extracts the literal text a pattern starts with.
+     *
+     * @param pattern the regular expression.
+     * @param literal receives the literal text every match contains.
+     * @return true if the pattern consists of the literal only.
+     */
+    private boolean extractLiteralPrefix(String pattern, StringBuilder literal) {
+        if (pattern.startsWith("(?")) {
+            // flags like case insensitivity
+            return false;
+        }
+        int i = 0;
+        boolean anchored = pattern.startsWith("^");
+        if (anchored) {
+            i++;
+        }
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 < pattern.length() && !Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    c = pattern.charAt(i + 1);
+                    if (isQuantifiedAt(pattern, i + 2)) {
+                        return false;
+                    }
+                    literal.append(c);
+                    i += 2;
+                    continue;
+                }
+                // character classes like \d, back references and quotes end the literal
+                return false;
+            }
+            if (META_CHARACTERS.indexOf(c) >= 0) {
+                return false;
+            }
+            if (isQuantifiedAt(pattern, i + 1)) {
+                // the character is optional or repeated
+                return false;
+            }
+            literal.append(c);
+            i++;
+        }
+        return !anchored;
+    }
+
+    private boolean isQuantifiedAt(String pattern, int index) {
+        return index < pattern.length() && QUANTIFIERS.indexOf(pattern.charAt(index)) >= 0;
+    }
+
+    private List<Node> buildAutomaton() {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(new Node());
+        for (Map.Entry<String, Integer> entry : literals.entrySet()) {
+            int state = 0;
+            for (char c : entry.getKey().toCharArray()) {
+                @Nullable
+                Integer next = nodes.get(state).next.get(c);
+                if (next == null) {
+                    next = nodes.size();
+                    nodes.add(new Node());
+                    nodes.get(state).next.put(c, next);
+                }
+                state = next;
+            }
+            Node node = nodes.get(state);
+            node.outputs = append(node.outputs, entry.getValue());
+        }
+
+        // breadth first to link each node to the longest proper suffix which is a node as well
+        List<Integer> queue = new ArrayList<>(nodes.get(0).next.values());
+        for (int head = 0; head < queue.size(); head++) {
+            int state = queue.get(head);
+            for (Map.Entry<Character, Integer> transition : nodes.get(state).next.entrySet()) {
+                int child = transition.getValue();
+                int fail = nodes.get(state).fail;
+                while (fail > 0 && !nodes.get(fail).next.containsKey(transition.getKey())) {
+                    fail = nodes.get(fail).fail;
+                }
+                @Nullable
+                Integer target = nodes.get(fail).next.get(transition.getKey());
+                Node childNode = nodes.get(child);
+                childNode.fail = target != null && target != child ? target : 0;
+                for (int output : nodes.get(childNode.fail).outputs) {
+                    childNode.outputs = append(childNode.outputs, output);
+                }
+                queue.add(child);
+            }
+        }
+        return nodes;
+    }
+
+    private void scan(List<Node> nodes, String data) {
+        Arrays.fill(found, false);
+        if (found.length == 0) {
+            return;
+        }
+        int state = 0;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            @Nullable
+            Integer next = nodes.get(state).next.get(c);
+            while (next == null && state > 0) {
+                state = nodes.get(state).fail;
+                next = nodes.get(state).next.get(c);
+            }
+            state = next != null ? next : 0;
+            for (int output : nodes.get(state).outputs) {
+                found[output] = true;
+            }
+        }
+    }
+
+    private static int[] append(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return values;
+            }
+        }
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+}
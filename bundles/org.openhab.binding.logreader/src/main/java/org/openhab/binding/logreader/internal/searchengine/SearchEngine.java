@@ -12,10 +12,6 @@
  */
 package org.openhab.binding.logreader.internal.searchengine;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.Nullable;
@@ -27,8 +23,9 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private final MultiPatternMatcher matcher;
+    private final int searchClass;
+    private final int blacklistingClass;
 
     private long matchCount;
 
@@ -40,8 +37,22 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        this(new MultiPatternMatcher(), patterns, blacklistingPatterns);
+    }
+
+    /**
+     * Initialize search patterns in a matcher which is shared with other search engines, so every line is only
+     * scanned once for all of them.
+     *
+     * @param matcher matcher the patterns are added to.
+     * @param patterns search patterns.
+     * @param blacklistingPatterns search patterns to bypass results which have found by the initial search patterns.
+     */
+    public SearchEngine(MultiPatternMatcher matcher, @Nullable String patterns, @Nullable String blacklistingPatterns)
+            throws PatternSyntaxException {
+        this.matcher = matcher;
+        searchClass = matcher.addPatterns(patterns);
+        blacklistingClass = matcher.addPatterns(blacklistingPatterns, searchClass);
     }
 
     /**
@@ -51,8 +62,9 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
-            if (notBlacklisted(data)) {
+        int result = matcher.match(data);
+        if ((result & (1 << searchClass)) != 0) {
+            if ((result & (1 << blacklistingClass)) == 0) {
                 matchCount++;
                 return true;
             }
@@ -71,40 +83,4 @@ public class SearchEngine {
     public void clearMatchCount() {
         setMatchCount(0);
     }
-
-    /**
-     * Split pattern string and precompile search patterns.
-     *
-     * @param patterns patterns which will handled.
-     * @return list of precompiled patterns. If pattern parameter is null, empty list is returned.
-     */
-    private List<Pattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
-        List<Pattern> patternsList = new ArrayList<>();
-
-        if (patterns != null && !patterns.isEmpty()) {
-            String list[] = patterns.split("\\|");
-            if (list.length > 0) {
-                for (String patternStr : list) {
-                    patternsList.add(Pattern.compile(patternStr));
-                }
-            }
-        }
-        return patternsList;
-    }
-
-    private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
-    }
-
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests for {@link FileTailer}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class FileTailerTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private final FileTailer tailer = new FileTailer();
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch fileNotFound = new CountDownLatch(1);
+
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("logreader");
+        file = directory.resolve("test.log");
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+                fileNotFound.countDown();
+            }
+
+            @Override
+            public void fileRotated() {
+            }
+
+            @Override
+            public void handle(List<String> lines) {
+                batches.add(lines);
+            }
+
+            @Override
+            public void handle(Exception ex) {
+            }
+        });
+        // a file created after the start is read from its beginning
+        tailer.start(file.toString(), 100);
+        assertTrue(fileNotFound.await(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        tailer.stop();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void batchesAreLimitedToMaximumSize() throws Exception {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            expected.add("line " + i);
+            content.append("line ").append(i).append('\n');
+        }
+        write(content.toString());
+
+        List<String> lines = awaitLines(expected.size());
+        assertEquals(expected, lines);
+        synchronized (batches) {
+            for (List<String> batch : batches) {
+                assertTrue(batch.size() <= 1000, "batch of " + batch.size() + " lines");
+            }
+        }
+    }
+
+    @Test
+    public void linesLongerThanTheBufferAreJoined() throws Exception {
+        StringBuilder longLine = new StringBuilder();
+        while (longLine.length() < 100 * 1024) {
+            longLine.append("0123456789");
+        }
+        write("first\r\n" + longLine + "\nlast\n");
+
+        List<String> lines = awaitLines(3);
+        assertEquals(List.of("first", longLine.toString(), "last"), lines);
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(Charset.defaultCharset()));
+    }
+
+    private List<String> awaitLines(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            List<String> lines = new ArrayList<>();
+            synchronized (batches) {
+                batches.forEach(lines::addAll);
+            }
+            if (lines.size() >= count) {
+                return lines;
+            }
+            Thread.sleep(50);
+        }
+        fail("Lines have not been read in time");
+        return List.of();
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MultiPatternMatcher}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcherTest {
+
+    private static final String[] PATTERN_PARTS = { "ERROR", "WARN", "ERR", "RROR", "foo", "a.b", "a\\.b", "\\[x\\]",
+            "^ERR", "^foo", "(?i)error", "ab*c", "x?y", "\\d+", "[ab]c", "WARN.*foo", "o+", "ba", "abab", "", "^", "$",
+            "x$", "(ab)+", "a\\b" };
+    private static final String LINE_CHARACTERS = "abcfoxyERWAN.[]1 ";
+    private static final String[] LINE_PARTS = { "ERROR", "WARN", "foo", "a.b", "[x]", "abab", "error" };
+
+    @Test
+    public void literalPatternsAreMatched() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher();
+        int errors = matcher.addPatterns("ERROR|FATAL");
+        int warnings = matcher.addPatterns("WARN");
+
+        assertEquals(1 << errors, matcher.match("2020-01-01 [ERROR] failed"));
+        assertEquals(1 << warnings, matcher.match("2020-01-01 [WARN ] slow"));
+        assertEquals((1 << errors) | (1 << warnings), matcher.match("FATAL after WARN"));
+        assertEquals(0, matcher.match("2020-01-01 [INFO ] ok"));
+    }
+
+    @Test
+    public void blacklistingPatternsAreOnlyEvaluatedForMatchingLines() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher();
+        int errors = matcher.addPatterns("ERROR");
+        int blacklist = matcher.addPatterns("ignored", errors);
+
+        assertEquals((1 << errors) | (1 << blacklist), matcher.match("ERROR ignored"));
+        assertEquals(0, matcher.match("INFO ignored"));
+    }
+
+    @Test
+    public void equalLinesAreEvaluatedAgain() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher();
+        int errors = matcher.addPatterns("ERROR");
+
+        assertEquals(1 << errors, matcher.match(new String("ERROR")));
+        assertEquals(1 << errors, matcher.match(new String("ERROR")));
+        assertEquals(0, matcher.match("INFO"));
+    }
+
+    @Test
+    public void moreThan32ClassesAreRejected() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher();
+        for (int i = 0; i < Integer.SIZE; i++) {
+            assertEquals(i, matcher.addPatterns("<" + i + ">"));
+        }
+        assertEquals(1 << 31, matcher.match("<31>"));
+        assertThrows(IllegalStateException.class, () -> matcher.addPatterns("<32>"));
+    }
+
+    @Test
+    public void unknownRequiredClassesAreRejected() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher();
+        assertThrows(IllegalArgumentException.class, () -> matcher.addPatterns("a", 0));
+        matcher.addPatterns("a");
+        assertThrows(IllegalArgumentException.class, () -> matcher.addPatterns("b", 1));
+        assertThrows(IllegalArgumentException.class, () -> matcher.addPatterns("b", 32));
+    }
+
+    @Test
+    public void resultsAreEqualToRegularExpressions() {
+        Random random = new Random(4711);
+        for (int round = 0; round < 200; round++) {
+            MultiPatternMatcher matcher = new MultiPatternMatcher();
+            List<SearchEngine> engines = new ArrayList<>();
+            List<String[]> patterns = new ArrayList<>();
+            for (int engine = 0; engine < 3; engine++) {
+                String search = randomPatterns(random);
+                String blacklist = random.nextInt(3) == 0 ? "" : randomPatterns(random);
+                engines.add(new SearchEngine(matcher, search, blacklist));
+                patterns.add(new String[] { search, blacklist });
+            }
+            for (int i = 0; i < 100; i++) {
+                String line = randomLine(random);
+                for (int engine = 0; engine < engines.size(); engine++) {
+                    String[] enginePatterns = patterns.get(engine);
+                    boolean expected = find(enginePatterns[0], line) && !find(enginePatterns[1], line);
+                    assertEquals(expected, engines.get(engine).isMatching(line),
+                            "search '" + enginePatterns[0] + "', blacklist '" + enginePatterns[1] + "', line '" + line
+                                    + "'");
+                }
+            }
+        }
+    }
+
+    private static boolean find(String patterns, String line) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        for (String pattern : patterns.split("\\|")) {
+            if (Pattern.compile(pattern).matcher(line).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String randomPatterns(Random random) {
+        StringBuilder patterns = new StringBuilder(PATTERN_PARTS[random.nextInt(PATTERN_PARTS.length)]);
+        int count = random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            patterns.append('|').append(PATTERN_PARTS[random.nextInt(PATTERN_PARTS.length)]);
+        }
+        return patterns.toString();
+    }
+
+    private static String randomLine(Random random) {
+        StringBuilder line = new StringBuilder();
+        int length = random.nextInt(30);
+        while (line.length() < length) {
+            if (random.nextInt(4) == 0) {
+                line.append(LINE_PARTS[random.nextInt(LINE_PARTS.length)]);
+            } else {
+                line.append(LINE_CHARACTERS.charAt(random.nextInt(LINE_CHARACTERS.length())));
+            }
+        }
+        return line.toString();
+    }
+}
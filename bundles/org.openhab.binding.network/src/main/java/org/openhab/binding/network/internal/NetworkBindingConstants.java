@@ -54,6 +54,9 @@ public class NetworkBindingConstants {
     public static final String PARAMETER_TIMEOUT = "timeout";
     public static final String PARAMETER_REFRESH_INTERVAL = "refreshInterval";
     public static final String PARAMETER_PORT = "port";
+    public static final String PARAMETER_SWEEP_MODE = "sweepMode";
+    public static final String PARAMETER_SWEEP_RATE = "sweepRate";
+    public static final String PARAMETER_SWEEP_MAX_ADDRESSES = "sweepMaxAddresses";
 
     public static final String PROPERTY_DHCP_STATE = "dhcp_state";
     public static final String PROPERTY_ARP_STATE = "arp_state";
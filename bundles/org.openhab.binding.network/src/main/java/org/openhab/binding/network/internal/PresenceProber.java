@@ -0,0 +1,338 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProber} performs the presence checks of all {@link PresenceDetection}s of the binding.
+ *
+ * TCP connection attempts are multiplexed over non-blocking sockets by a single selector thread. Checks that have to
+ * block, like native pings, ARP pings and Java pings, are executed by a bounded pool of worker threads, which time out
+ * when idle. The number of threads therefore does not grow with the number of things. If more checks are requested
+ * than the workers can execute, e.g. because many hosts do not answer, the checks wait in a bounded queue. A check that
+ * has waited longer than its timeout is skipped, as its result would be too late, so the workers never fall behind by
+ * more than one timeout. Skipped checks, and checks which are rejected because too many are waiting, complete with a
+ * {@link CheckSkippedException}: their result is unknown, which must not be mistaken for an unreachable host.
+ *
+ * Checks of the same kind for the same destination and timeout are shared: as long as a check is running or its result
+ * is younger than the result time to live, every request for it gets the same result.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProber {
+    private static final int MAX_WORKERS = 16;
+    private static final int MAX_QUEUED_CHECKS = 1024;
+    private static final long WORKER_KEEP_ALIVE = 60; // in s
+    private static final long RESULT_TTL = 2000; // in ms
+
+    private static final PresenceProber INSTANCE = new PresenceProber(RESULT_TTL, MAX_WORKERS);
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProber.class);
+
+    private final Map<String, CompletableFuture<Optional<PingResult>>> probes = new ConcurrentHashMap<>();
+    private final Queue<PendingConnect> pendingConnects = new ConcurrentLinkedQueue<>();
+    private final ThreadPoolExecutor workers;
+    private final long resultTTL;
+
+    private @Nullable Selector selector;
+
+    /**
+     * Thrown if a check has not been executed, e.g. because it waited too long for a worker. The result of the check
+     * is unknown.
+     */
+    public static class CheckSkippedException extends Exception {
+        private static final long serialVersionUID = -3318476283610529847L;
+
+        CheckSkippedException(String message) {
+            super(message);
+        }
+
+        CheckSkippedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static class PendingConnect {
+        final SocketChannel channel;
+        final CompletableFuture<Optional<PingResult>> result;
+        final long startTimeInMS;
+        final long deadlineInMS;
+
+        PendingConnect(SocketChannel channel, CompletableFuture<Optional<PingResult>> result, long startTimeInMS,
+                int timeoutInMS) {
+            this.channel = channel;
+            this.result = result;
+            this.startTimeInMS = startTimeInMS;
+            this.deadlineInMS = startTimeInMS + timeoutInMS;
+        }
+
+        void complete(boolean success) {
+            close();
+            result.complete(Optional.of(new PingResult(success, System.currentTimeMillis() - startTimeInMS)));
+        }
+
+        void fail(Exception e) {
+            close();
+            result.completeExceptionally(e);
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // the result is known already
+            }
+        }
+    }
+
+    /**
+     * @param resultTTL How long in milliseconds the result of a finished check is shared with further requests.
+     * @param maxWorkers How many blocking checks are executed at the same time.
+     */
+    PresenceProber(long resultTTL, int maxWorkers) {
+        this.resultTTL = resultTTL;
+        workers = new ThreadPoolExecutor(maxWorkers, maxWorkers, WORKER_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_QUEUED_CHECKS), new NamedThreadFactory("network-presence", true));
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the prober shared by all presence detections of the binding.
+     */
+    public static PresenceProber getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Executes a blocking check on a worker thread, or joins a running or recently finished check with the same key
+     * and timeout.
+     *
+     * @param key Identifies the check, e.g. the kind of check and the destination address
+     * @param timeoutInMS The timeout of the check. The check is skipped if it could not be started within this time.
+     * @param check The check to execute
+     * @return The result of the check. The future completes exceptionally if the check threw an exception, with a
+     *         {@link CheckSkippedException} if the check has been skipped or too many checks are waiting.
+     */
+    public CompletableFuture<Optional<PingResult>> probe(String key, int timeoutInMS,
+            Callable<Optional<PingResult>> check) {
+        String sharedKey = key + "/" + timeoutInMS;
+        CompletableFuture<Optional<PingResult>> result = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> shared = probes.putIfAbsent(sharedKey, result);
+        if (shared != null) {
+            logger.trace("Sharing presence check {}", sharedKey);
+            return shared.copy();
+        }
+        result.whenComplete((value, exception) -> expire(sharedKey, result));
+        long queuedInMS = System.currentTimeMillis();
+        try {
+            workers.execute(() -> {
+                if (System.currentTimeMillis() - queuedInMS > timeoutInMS) {
+                    logger.trace("Skipping presence check {}, it waited longer than its timeout", sharedKey);
+                    result.completeExceptionally(new CheckSkippedException("Waited longer than the timeout"));
+                    return;
+                }
+                try {
+                    result.complete(check.call());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new CheckSkippedException("Too many checks are waiting", e));
+        }
+        return result.copy();
+    }
+
+    /**
+     * Tries to establish a TCP connection to the given port without blocking a thread, or joins a running or
+     * recently finished attempt for the same destination.
+     *
+     * @param address The destination address
+     * @param port The TCP port. Must not be 0.
+     * @param timeoutInMS Timeout in ms
+     * @return The result of the connection attempt. It is not successful if the connection was refused or timed out.
+     *         The future completes with a {@link CheckSkippedException} if no connection attempt could be made.
+     */
+    public CompletableFuture<Optional<PingResult>> servicePing(InetAddress address, int port, int timeoutInMS) {
+        String key = "tcp:" + address.getHostAddress() + ":" + port + "/" + timeoutInMS;
+        CompletableFuture<Optional<PingResult>> result = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> shared = probes.putIfAbsent(key, result);
+        if (shared != null) {
+            logger.trace("Sharing presence check {}", key);
+            return shared.copy();
+        }
+        result.whenComplete((value, exception) -> expire(key, result));
+
+        long startTimeInMS = System.currentTimeMillis();
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            PendingConnect pending = new PendingConnect(channel, result, startTimeInMS, timeoutInMS);
+            if (channel.connect(new InetSocketAddress(address, port))) {
+                pending.complete(true);
+            } else {
+                enqueue(pending);
+            }
+        } catch (IOException e) {
+            if (channel != null) {
+                // the connection attempt itself failed, e.g. because the network is unreachable
+                new PendingConnect(channel, result, startTimeInMS, timeoutInMS).complete(false);
+            } else {
+                result.completeExceptionally(new CheckSkippedException("Cannot open a socket", e));
+            }
+        }
+        return result.copy();
+    }
+
+    private void expire(String key, CompletableFuture<Optional<PingResult>> result) {
+        if (resultTTL <= 0) {
+            probes.remove(key, result);
+        } else {
+            CompletableFuture.delayedExecutor(resultTTL, TimeUnit.MILLISECONDS).execute(() -> probes.remove(key, result));
+        }
+    }
+
+    /**
+     * Hands a connection attempt over to the selector thread, which is started if it is not running. If no selector
+     * can be opened, all waiting connection attempts are skipped.
+     */
+    private synchronized void enqueue(PendingConnect pending) {
+        pendingConnects.add(pending);
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+            return;
+        }
+        Selector newSelector;
+        try {
+            newSelector = Selector.open();
+        } catch (IOException e) {
+            logger.warn("Cannot open a selector for presence detection: {}", e.getMessage());
+            CheckSkippedException skipped = new CheckSkippedException("Cannot open a selector", e);
+            PendingConnect waiting;
+            while ((waiting = pendingConnects.poll()) != null) {
+                waiting.fail(skipped);
+            }
+            return;
+        }
+        this.selector = newSelector;
+        Thread thread = new Thread(() -> select(newSelector), "OH-binding-network-presence-selector");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits for the pending connection attempts to finish or time out. Ends as soon as no attempts are left.
+     */
+    private void select(Selector selector) {
+        List<PendingConnect> active = new ArrayList<>();
+        try {
+            while (true) {
+                PendingConnect pending;
+                while ((pending = pendingConnects.poll()) != null) {
+                    try {
+                        pending.channel.register(selector, SelectionKey.OP_CONNECT, pending);
+                        active.add(pending);
+                    } catch (IOException e) {
+                        pending.complete(false);
+                    }
+                }
+                synchronized (this) {
+                    if (active.isEmpty() && pendingConnects.isEmpty()) {
+                        this.selector = null;
+                        selector.close();
+                        return;
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                long nextDeadline = Long.MAX_VALUE;
+                for (PendingConnect connect : active) {
+                    nextDeadline = Math.min(nextDeadline, connect.deadlineInMS);
+                }
+                selector.select(Math.max(1, nextDeadline - now));
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    boolean success;
+                    try {
+                        success = connect.channel.finishConnect();
+                    } catch (IOException e) {
+                        // connection refused, no route to host and the like
+                        success = false;
+                    }
+                    connect.complete(success);
+                    active.remove(connect);
+                }
+
+                now = System.currentTimeMillis();
+                for (Iterator<PendingConnect> it = active.iterator(); it.hasNext();) {
+                    PendingConnect connect = it.next();
+                    if (connect.deadlineInMS <= now) {
+                        connect.complete(false);
+                        it.remove();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Presence detection selector failed", e);
+            synchronized (this) {
+                this.selector = null;
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // the selector is not used anymore
+            }
+            // the hosts have not been checked, so the result is unknown
+            CheckSkippedException skipped = new CheckSkippedException("Presence detection selector failed", e);
+            active.forEach(connect -> connect.fail(skipped));
+            PendingConnect pending;
+            while ((pending = pendingConnects.poll()) != null) {
+                pending.fail(skipped);
+            }
+        }
+    }
+}
@@ -14,6 +14,8 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +35,7 @@ import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -50,6 +53,9 @@ import org.slf4j.LoggerFactory;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * In sweep mode, the TCP connection attempts and pings are sent at a fixed rate by a {@link SubnetSweeper} instead,
+ * which does not wait for the timeout of each address and skips the ARP pings.
+ *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
@@ -57,7 +63,11 @@ import org.slf4j.LoggerFactory;
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
+    // every address is checked by its own detection with the full timeout, so this scan is limited to a /24 subnet
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int DEFAULT_SWEEP_RATE = 200;
+    // sweeps cover whole subnets up to a /20 subnet by default
+    static final int DEFAULT_SWEEP_MAX_ADDRESSES = 4096;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -70,6 +80,10 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     private @Nullable ExecutorService executorService = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    private volatile boolean sweepMode = false;
+    private volatile int sweepRate = DEFAULT_SWEEP_RATE;
+    private volatile int sweepMaxAddresses = DEFAULT_SWEEP_MAX_ADDRESSES;
+    private @Nullable SubnetSweeper sweeper = null;
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
@@ -92,6 +106,50 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+
+        if (config != null) {
+            sweepMode = Boolean.parseBoolean(String.valueOf(config.get(PARAMETER_SWEEP_MODE)));
+            Object rate = config.get(PARAMETER_SWEEP_RATE);
+            try {
+                sweepRate = rate != null ? Math.max(1, new BigDecimal(rate.toString()).intValue()) : DEFAULT_SWEEP_RATE;
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid sweep rate '{}', using {} probes per second", rate, DEFAULT_SWEEP_RATE);
+                sweepRate = DEFAULT_SWEEP_RATE;
+            }
+            Object maxAddresses = config.get(PARAMETER_SWEEP_MAX_ADDRESSES);
+            try {
+                sweepMaxAddresses = maxAddresses != null
+                        ? Math.max(2, new BigDecimal(maxAddresses.toString()).intValue())
+                        : DEFAULT_SWEEP_MAX_ADDRESSES;
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid maximum number of addresses '{}', sweeping up to {} addresses per interface",
+                        maxAddresses, DEFAULT_SWEEP_MAX_ADDRESSES);
+                sweepMaxAddresses = DEFAULT_SWEEP_MAX_ADDRESSES;
+            }
+        }
+    }
+
+    @Override
+    public int getScanTimeout() {
+        if (!sweepMode) {
+            return super.getScanTimeout();
+        }
+        // the ping method does not change the estimate, so the feature test of the system ping is not needed here
+        int ips = networkUtils.getNetworkIPs(getSweepMaximumPerInterface()).size();
+        return (int) Math.ceil(createSweeper(IpPingMethodEnum.JAVA_PING).getMaximumDurationInMS(ips) / 1000.0);
+    }
+
+    /**
+     * Returns the maximum number of addresses per interface, such that subnets with up to sweepMaxAddresses addresses
+     * are swept completely. Of larger subnets, the largest subnet around the interface address that fits is swept.
+     */
+    private int getSweepMaximumPerInterface() {
+        // NetworkUtils sweeps a subnet with 2^n - 2 addresses for a maximum of 2^n - 1
+        return Integer.highestOneBit(sweepMaxAddresses + 2) - 1;
+    }
+
+    private SubnetSweeper createSweeper(IpPingMethodEnum pingMethod) {
+        return new SubnetSweeper(tcpServicePorts, sweepRate, PING_TIMEOUT_IN_MS, pingMethod, networkUtils);
     }
 
     @Override
@@ -125,6 +183,10 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
      */
     @Override
     protected void startScan() {
+        if (sweepMode) {
+            startSweep();
+            return;
+        }
         if (executorService == null) {
             executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
         }
@@ -162,9 +224,61 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         }
     }
 
+    /**
+     * Starts a sweep of all IPs on each interface on the network
+     */
+    private synchronized void startSweep() {
+        if (sweeper != null) {
+            return;
+        }
+        removeOlderResults(getTimestampOfLastScan(), null);
+
+        final Set<String> networkIPs = networkUtils.getNetworkIPs(getSweepMaximumPerInterface());
+        logger.debug("Starting Network Device Discovery sweep of {} IPs at {} probes per second", networkIPs.size(),
+                sweepRate);
+        IpPingMethodEnum pingMethod = configuration.allowSystemPings ? networkUtils.determinePingMethod()
+                : IpPingMethodEnum.JAVA_PING;
+        final SubnetSweeper sweeper = createSweeper(pingMethod);
+        this.sweeper = sweeper;
+
+        scheduler.execute(() -> {
+            try {
+                sweeper.sweep(networkIPs, new SubnetSweeper.Listener() {
+                    @Override
+                    public void hostReachable(String ip) {
+                        newPingDevice(ip);
+                    }
+
+                    @Override
+                    public void serviceReachable(String ip, int tcpPort) {
+                        newServiceDevice(ip, tcpPort);
+                    }
+
+                    @Override
+                    public void progress(int scannedIPs, int totalIPs) {
+                        logger.debug("Network Device Discovery sweep: {} of {} IPs scanned", scannedIPs, totalIPs);
+                    }
+                });
+            } catch (IOException e) {
+                logger.warn("Network Device Discovery sweep failed", e);
+            } finally {
+                synchronized (this) {
+                    if (this.sweeper == sweeper) {
+                        stopScan();
+                    }
+                }
+            }
+        });
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final SubnetSweeper sweeper = this.sweeper;
+        if (sweeper != null) {
+            sweeper.cancel();
+            this.sweeper = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
@@ -0,0 +1,383 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SubnetSweeper} sweeps a list of IP addresses for reachable hosts and TCP services.
+ *
+ * All TCP connection attempts are sent through non-blocking sockets at a fixed rate and their replies are collected by
+ * a single selector loop, so the duration of a sweep depends on the rate and not on the timeout. A refused connection
+ * proves that the host is reachable as well. ICMP pings are sent at the same rate by a small pool of threads owned by
+ * the sweep, as Java can not send them through non-blocking sockets. If all of its threads are busy, the sweep waits
+ * for a ping to finish before it continues, so a sweep never competes with the presence detection of the things.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetSweeper {
+    // the number of sockets that may be connecting at the same time, independent of the rate
+    private static final int MAX_OPEN_CONNECTIONS = 256;
+    // the number of pings that may be running at the same time, each of them blocks a thread
+    private static final int MAX_PENDING_PINGS = 32;
+
+    private final Logger logger = LoggerFactory.getLogger(SubnetSweeper.class);
+
+    private final Collection<Integer> tcpPorts;
+    private final int probesPerSecond;
+    private final int timeoutInMS;
+    private final @Nullable IpPingMethodEnum pingMethod;
+    private final NetworkUtils networkUtils;
+    // every address has one probe per port and maybe a ping
+    private final int probesPerIP;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Receives the results of a sweep. It may be called from different threads.
+     */
+    public interface Listener {
+        /**
+         * A host answered a ping or a TCP connection attempt.
+         */
+        void hostReachable(String ip);
+
+        /**
+         * A TCP connection to the port of a host could be established.
+         */
+        void serviceReachable(String ip, int tcpPort);
+
+        /**
+         * Reports the progress of the sweep.
+         *
+         * @param scannedIPs The number of addresses all probes have been finished for
+         * @param totalIPs The number of addresses to sweep
+         */
+        void progress(int scannedIPs, int totalIPs);
+    }
+
+    private static class Probe {
+        final String ip;
+        final int port;
+        final SocketChannel channel;
+        final long deadlineInMS;
+
+        Probe(String ip, int port, SocketChannel channel, long deadlineInMS) {
+            this.ip = ip;
+            this.port = port;
+            this.channel = channel;
+            this.deadlineInMS = deadlineInMS;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // nothing left to do
+            }
+        }
+    }
+
+    /**
+     * @param tcpPorts The TCP ports to try on every address
+     * @param probesPerSecond How many connection attempts and pings are sent per second
+     * @param timeoutInMS How long to wait for the reply to a probe
+     * @param pingMethod The method to ping with, or null to not send pings
+     * @param networkUtils The utilities to ping with
+     */
+    public SubnetSweeper(Collection<Integer> tcpPorts, int probesPerSecond, int timeoutInMS,
+            @Nullable IpPingMethodEnum pingMethod, NetworkUtils networkUtils) {
+        this.tcpPorts = tcpPorts;
+        this.probesPerSecond = Math.max(1, probesPerSecond);
+        this.timeoutInMS = timeoutInMS;
+        this.pingMethod = pingMethod;
+        this.networkUtils = networkUtils;
+        this.probesPerIP = tcpPorts.size() + (pingMethod != null ? 1 : 0);
+    }
+
+    /**
+     * Returns how long a sweep of the given number of addresses takes at most. That is the time to send all probes at
+     * the rate, or to run all pings on the limited number of threads if that takes longer, plus the time to wait for
+     * the replies to the last probes.
+     *
+     * @param ipCount The number of addresses to sweep
+     * @return The maximum duration in milliseconds
+     */
+    public long getMaximumDurationInMS(int ipCount) {
+        // the native ping utilities of Linux and macOS wait for whole seconds
+        long pingTimeoutInMS = NetworkUtils.toTimeoutInSeconds(timeoutInMS) * 1000L;
+        long sendTimeInMS = (long) ipCount * probesPerIP * 1000 / probesPerSecond;
+        long replyTimeInMS = timeoutInMS;
+        if (pingMethod != null) {
+            long pingRounds = (ipCount + MAX_PENDING_PINGS - 1) / MAX_PENDING_PINGS;
+            sendTimeInMS = Math.max(sendTimeInMS, pingRounds * pingTimeoutInMS);
+            replyTimeInMS = Math.max(replyTimeInMS, pingTimeoutInMS);
+        }
+        return sendTimeInMS + replyTimeInMS;
+    }
+
+    /**
+     * Stops a running sweep as soon as possible. Running pings are interrupted and no results are reported anymore.
+     * A cancelled sweeper can not be used again.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Sweeps the given addresses and blocks until all probes have been answered or timed out.
+     *
+     * @param ips The IPv4 addresses to sweep
+     * @param listener Receives the results
+     * @throws IOException If the selector could not be opened
+     */
+    public void sweep(Collection<String> ips, Listener listener) throws IOException {
+        ExecutorService pingExecutor = Executors.newFixedThreadPool(MAX_PENDING_PINGS,
+                new NamedThreadFactory("network-sweep", true));
+        Sweep sweep = new Sweep(new ArrayList<>(ips), listener, pingExecutor);
+        try (Selector selector = Selector.open()) {
+            sweep.run(selector);
+        } finally {
+            sweep.active.forEach(Probe::close);
+            pingExecutor.shutdownNow();
+        }
+        logger.debug("Swept {} of {} addresses, {} reachable", sweep.scannedIPs.get(), sweep.targets.size(),
+                sweep.reachableIPs.size());
+    }
+
+    /**
+     * The state of a single sweep.
+     */
+    private class Sweep {
+        final List<String> targets;
+        final Listener listener;
+        final ExecutorService pingExecutor;
+        // the probes of every address count down when finished
+        final Map<String, AtomicInteger> openProbes = new ConcurrentHashMap<>();
+        final Set<String> reachableIPs = ConcurrentHashMap.newKeySet();
+        final AtomicInteger scannedIPs = new AtomicInteger();
+        final AtomicInteger pendingPings = new AtomicInteger();
+        final List<Probe> active = new ArrayList<>();
+
+        Sweep(List<String> targets, Listener listener, ExecutorService pingExecutor) {
+            this.targets = targets;
+            this.listener = listener;
+            this.pingExecutor = pingExecutor;
+        }
+
+        void run(Selector selector) throws IOException {
+            int totalIPs = targets.size();
+            if (totalIPs == 0 || probesPerIP == 0) {
+                listener.progress(totalIPs, totalIPs);
+                return;
+            }
+
+            long startTimeInMS = System.currentTimeMillis();
+            int sent = 0;
+            int nextIP = 0;
+            Iterator<Integer> ports = tcpPorts.iterator();
+            boolean pingSent = false;
+
+            while (!cancelled && (nextIP < totalIPs || !active.isEmpty() || pendingPings.get() > 0)) {
+                long now = System.currentTimeMillis();
+
+                // send as many probes as the rate allows for the elapsed time
+                long allowed = (now - startTimeInMS) * probesPerSecond / 1000 + 1;
+                boolean waitingForPing = false;
+                while (nextIP < totalIPs && sent < allowed && active.size() < MAX_OPEN_CONNECTIONS) {
+                    if (pingMethod != null && !pingSent && pendingPings.get() >= MAX_PENDING_PINGS) {
+                        waitingForPing = true;
+                        break;
+                    }
+                    String ip = targets.get(nextIP);
+                    openProbes.putIfAbsent(ip, new AtomicInteger(probesPerIP));
+                    if (pingMethod != null && !pingSent) {
+                        ping(ip);
+                        pingSent = true;
+                    } else if (ports.hasNext()) {
+                        connect(selector, ip, ports.next(), now);
+                    }
+                    sent++;
+                    if (!ports.hasNext() && (pingMethod == null || pingSent)) {
+                        nextIP++;
+                        ports = tcpPorts.iterator();
+                        pingSent = false;
+                    }
+                }
+
+                long nextEvent = Long.MAX_VALUE;
+                if (nextIP < totalIPs && active.size() < MAX_OPEN_CONNECTIONS && !waitingForPing) {
+                    nextEvent = startTimeInMS + (sent * 1000L / probesPerSecond);
+                }
+                for (Probe probe : active) {
+                    nextEvent = Math.min(nextEvent, probe.deadlineInMS);
+                }
+                if (nextEvent == Long.MAX_VALUE) {
+                    // only pings are left or all ping threads are busy, pings finish on their own
+                    nextEvent = now + 50;
+                }
+                selector.select(Math.max(1, nextEvent - now));
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    Probe probe = (Probe) key.attachment();
+                    try {
+                        if (probe.channel.finishConnect()) {
+                            reportService(probe.ip, probe.port);
+                        }
+                    } catch (ConnectException e) {
+                        // the host refused the connection, as the probe has not timed out yet. An unreachable host or
+                        // network is reported as NoRouteToHostException or SocketException instead.
+                        reportHost(probe.ip);
+                    } catch (IOException e) {
+                        // no route to host or the like
+                    }
+                    probe.close();
+                    active.remove(probe);
+                    finishProbe(probe.ip);
+                }
+
+                now = System.currentTimeMillis();
+                for (Iterator<Probe> it = active.iterator(); it.hasNext();) {
+                    Probe probe = it.next();
+                    if (probe.deadlineInMS <= now) {
+                        probe.close();
+                        it.remove();
+                        finishProbe(probe.ip);
+                    }
+                }
+            }
+        }
+
+        private void connect(Selector selector, String ip, int port, long now) {
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                Probe probe = new Probe(ip, port, channel, now + timeoutInMS);
+                if (channel.connect(new InetSocketAddress(ip, port))) {
+                    reportService(ip, port);
+                    probe.close();
+                    finishProbe(ip);
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    active.add(probe);
+                }
+            } catch (ConnectException e) {
+                // refused immediately, which happens for local addresses
+                reportHost(ip);
+                closeQuietly(channel);
+                finishProbe(ip);
+            } catch (IOException e) {
+                logger.trace("Could not probe {}:{}", ip, port, e);
+                closeQuietly(channel);
+                finishProbe(ip);
+            }
+        }
+
+        private void ping(String ip) {
+            IpPingMethodEnum method = pingMethod;
+            pendingPings.incrementAndGet();
+            try {
+                pingExecutor.execute(() -> {
+                    try {
+                        Optional<PingResult> result = method == IpPingMethodEnum.JAVA_PING
+                                ? networkUtils.javaPing(timeoutInMS, InetAddress.getByName(ip))
+                                : networkUtils.nativePing(method, ip, timeoutInMS);
+                        if (result.isPresent() && result.get().isSuccess()) {
+                            reportHost(ip);
+                        }
+                    } catch (IOException e) {
+                        logger.trace("Could not ping {}", ip, e);
+                    } catch (InterruptedException e) {
+                        // the sweep has been cancelled
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finishProbe(ip);
+                        pendingPings.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the sweep has ended already
+                finishProbe(ip);
+                pendingPings.decrementAndGet();
+            }
+        }
+
+        private void reportHost(String ip) {
+            if (!cancelled && reachableIPs.add(ip)) {
+                listener.hostReachable(ip);
+            }
+        }
+
+        private void reportService(String ip, int port) {
+            if (!cancelled) {
+                listener.serviceReachable(ip, port);
+            }
+        }
+
+        private void finishProbe(String ip) {
+            AtomicInteger remaining = openProbes.get(ip);
+            if (remaining != null && remaining.decrementAndGet() == 0 && !cancelled) {
+                openProbes.remove(ip);
+                int totalIPs = targets.size();
+                int scanned = scannedIPs.incrementAndGet();
+                // report every 5 percent and the end of the sweep
+                int step = Math.max(1, totalIPs / 20);
+                if (scanned % step == 0 || scanned == totalIPs) {
+                    listener.progress(scanned, totalIPs);
+                }
+            }
+        }
+
+        private void closeQuietly(@Nullable SocketChannel channel) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // nothing left to do
+                }
+            }
+        }
+    }
+}
@@ -226,11 +226,23 @@ public class NetworkUtils {
         MAC_OS_PING
     }
 
+    /**
+     * Converts a timeout to whole seconds for the ping utilities which do not accept milliseconds. The timeout is
+     * rounded up, as a timeout of 0 seconds means no timeout or an invalid argument to them.
+     *
+     * @param timeoutInMS Timeout in milliseconds
+     * @return The timeout in seconds, at least 1
+     */
+    public static int toTimeoutInSeconds(int timeoutInMS) {
+        return Math.max(1, (timeoutInMS + 999) / 1000);
+    }
+
     /**
      * Use the native ping utility of the operating system to detect device presence.
      *
      * @param hostname The DNS name, IPv4 or IPv6 address. Must not be null.
-     * @param timeoutInMS Timeout in milliseconds. Be aware that DNS resolution is not part of this timeout.
+     * @param timeoutInMS Timeout in milliseconds. Be aware that DNS resolution is not part of this timeout. The ping
+     *            utilities of Linux and macOS only accept whole seconds, see {@link #toTimeoutInSeconds(int)}.
      * @return Ping result information. Optional is empty if ping command was not executed.
      * @throws IOException The ping command could probably not be found
      */
@@ -245,12 +257,12 @@ public class NetworkUtils {
         // Yes, all supported operating systems have their own ping utility with a different command line
         switch (method) {
             case IPUTILS_LINUX_PING:
-                proc = new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname)
-                        .start();
+                proc = new ProcessBuilder("ping", "-w", String.valueOf(toTimeoutInSeconds(timeoutInMS)), "-c", "1",
+                        hostname).start();
                 break;
             case MAC_OS_PING:
-                proc = new ProcessBuilder("ping", "-t", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname)
-                        .start();
+                proc = new ProcessBuilder("ping", "-t", String.valueOf(toTimeoutInSeconds(timeoutInMS)), "-c", "1",
+                        hostname).start();
                 break;
             case WINDOWS_PING:
                 proc = new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS), "-n", "1", hostname).start();
@@ -22,7 +22,7 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -54,8 +54,9 @@ public class PresenceDetectionTest {
 
     private PresenceDetection subject;
 
+    private PresenceProber prober;
+
     private @Mock Consumer<PresenceDetectionValue> callback;
-    private @Mock ExecutorService executorService;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
 
@@ -68,6 +69,8 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, (int) CACHETIME));
         subject.networkUtils = networkUtils;
+        prober = spy(new PresenceProber(0, 4));
+        subject.prober = prober;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
         }));
@@ -89,26 +92,28 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is performed.
+    // We will check if they are started and the detection finishes with them.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void detectionCheckCountTest() {
+        assertNull(subject.detection);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        CompletableFuture<Object> check = new CompletableFuture<>();
+        doReturn(check).when(subject).performARPping(any());
+        doReturn(check).when(subject).performJavaPing();
+        doReturn(check).when(subject).performSystemPing();
+        doReturn(check).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
 
-        subject.waitForPresenceDetection();
+        check.complete(null);
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detection);
+        verify(listener).finalDetectionResult(any());
     }
 
     @Test
@@ -117,7 +122,8 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(Optional.of(new PingResult(true, 10)))).when(prober)
+                .servicePing(any(), anyInt(), anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -136,29 +142,24 @@ public class PresenceDetectionTest {
 
     @Test
     public void cacheTest() throws InterruptedException, IOException {
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
-                anyString(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
-                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
-
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        CompletableFuture<Optional<PingResult>> result = new CompletableFuture<>();
+        doReturn(result).when(prober).probe(anyString(), anyInt(), any());
+        doReturn(result).when(prober).servicePing(any(), anyInt(), anyInt());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
+        // The ARP and ICMP checks are executed by the prober, the TCP check is a service ping
+        verify(prober, times(2)).probe(anyString(), anyInt(), any());
+        verify(prober).servicePing(any(), anyInt(), anyInt());
+        // Finish the different presence detection checks now
+        result.complete(Optional.of(new PingResult(true, 10)));
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -176,6 +177,38 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(any());
     }
 
+    @Test
+    public void skippedChecksKeepThePreviousState() {
+        CompletableFuture<Optional<PingResult>> skipped = new CompletableFuture<>();
+        skipped.completeExceptionally(new PresenceProber.CheckSkippedException("Waited longer than the timeout"));
+        doReturn(skipped).when(prober).probe(anyString(), anyInt(), any());
+        doReturn(CompletableFuture.completedFuture(Optional.of(new PingResult(false, 10)))).when(prober)
+                .servicePing(any(), anyInt(), anyInt());
+
+        assertTrue(subject.performPresenceDetection(false));
+        subject.waitForPresenceDetection();
+
+        // the device might have answered the skipped checks, so it is not reported as unreachable
+        assertNull(subject.detection);
+        verify(listener, never()).finalDetectionResult(any());
+        assertTrue(subject.cache.isExpired());
+    }
+
+    @Test
+    public void failedChecksReportTheDeviceAsUnreachable() {
+        CompletableFuture<Optional<PingResult>> failed = CompletableFuture
+                .completedFuture(Optional.of(new PingResult(false, 10)));
+        doReturn(failed).when(prober).probe(anyString(), anyInt(), any());
+        doReturn(failed).when(prober).servicePing(any(), anyInt(), anyInt());
+
+        assertTrue(subject.performPresenceDetection(false));
+        subject.waitForPresenceDetection();
+
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener).finalDetectionResult(capture.capture());
+        assertFalse(capture.getValue().isReachable());
+    }
+
     @Test
     public void reuseValueTests() throws InterruptedException, IOException {
         final long START_TIME = 1000L;
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@see PresenceProber}
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class PresenceProberTest {
+    private static final long TIMEOUT = 5000;
+
+    private final PresenceProber prober = new PresenceProber(0, 4);
+
+    @Test
+    public void runningChecksAreShared() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Optional<PingResult>> first = prober.probe("icmp:192.168.0.1", 1000, () -> {
+            calls.incrementAndGet();
+            release.await();
+            return Optional.of(new PingResult(true, 10));
+        });
+        CompletableFuture<Optional<PingResult>> second = prober.probe("icmp:192.168.0.1", 1000, () -> {
+            calls.incrementAndGet();
+            return Optional.of(new PingResult(false, 10));
+        });
+        release.countDown();
+
+        assertTrue(first.get(TIMEOUT, TimeUnit.MILLISECONDS).get().isSuccess());
+        assertTrue(second.get(TIMEOUT, TimeUnit.MILLISECONDS).get().isSuccess());
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void checksForDifferentKeysAreNotShared() throws Exception {
+        CompletableFuture<Optional<PingResult>> first = prober.probe("icmp:192.168.0.1", 1000,
+                () -> Optional.of(new PingResult(true, 10)));
+        CompletableFuture<Optional<PingResult>> second = prober.probe("icmp:192.168.0.2", 1000,
+                () -> Optional.of(new PingResult(false, 10)));
+
+        assertTrue(first.get(TIMEOUT, TimeUnit.MILLISECONDS).get().isSuccess());
+        assertFalse(second.get(TIMEOUT, TimeUnit.MILLISECONDS).get().isSuccess());
+    }
+
+    @Test
+    public void checksWithDifferentTimeoutsAreNotShared() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Optional<PingResult>> first = prober.probe("icmp:192.168.0.1", 1000, () -> {
+            calls.incrementAndGet();
+            release.await();
+            return Optional.of(new PingResult(true, 10));
+        });
+        CompletableFuture<Optional<PingResult>> second = prober.probe("icmp:192.168.0.1", 5000, () -> {
+            calls.incrementAndGet();
+            return Optional.of(new PingResult(false, 10));
+        });
+
+        assertFalse(second.get(TIMEOUT, TimeUnit.MILLISECONDS).get().isSuccess());
+        release.countDown();
+        assertTrue(first.get(TIMEOUT, TimeUnit.MILLISECONDS).get().isSuccess());
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void checksQueuedLongerThanTheirTimeoutAreSkipped() throws Exception {
+        PresenceProber singleWorker = new PresenceProber(0, 1);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Optional<PingResult>> blocking = singleWorker.probe("icmp:192.168.0.1", 1000, () -> {
+            release.await();
+            return Optional.of(new PingResult(false, 1000));
+        });
+        CompletableFuture<Optional<PingResult>> queued = singleWorker.probe("icmp:192.168.0.2", 100, () -> {
+            calls.incrementAndGet();
+            return Optional.of(new PingResult(true, 10));
+        });
+        Thread.sleep(300);
+        release.countDown();
+
+        assertFalse(blocking.get(TIMEOUT, TimeUnit.MILLISECONDS).get().isSuccess());
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> queued.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(e.getCause() instanceof PresenceProber.CheckSkippedException);
+        assertThat(calls.get(), is(0));
+    }
+
+    @Test
+    public void checksAreSkippedIfTooManyAreWaiting() throws Exception {
+        PresenceProber singleWorker = new PresenceProber(0, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        singleWorker.probe("icmp:192.168.0.1", 1000, () -> {
+            release.await();
+            return Optional.of(new PingResult(false, 1000));
+        });
+        CompletableFuture<Optional<PingResult>> last = null;
+        for (int i = 0; i < 2000 && (last == null || !last.isDone()); i++) {
+            last = singleWorker.probe("icmp:10.0." + (i / 256) + "." + (i % 256), 1000,
+                    () -> Optional.of(new PingResult(true, 10)));
+        }
+        release.countDown();
+
+        CompletableFuture<Optional<PingResult>> rejected = last;
+        assertNotNull(rejected);
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> rejected.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(e.getCause() instanceof PresenceProber.CheckSkippedException);
+    }
+
+    @Test
+    public void failedChecksCompleteExceptionally() {
+        CompletableFuture<Optional<PingResult>> result = prober.probe("arp:192.168.0.1:eth0", 1000, () -> {
+            throw new IOException("arping not found");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> result.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertThat(e.getCause().getMessage(), is("arping not found"));
+    }
+
+    @Test
+    public void servicePingToOpenPortSucceeds() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Optional<PingResult> result = prober
+                    .servicePing(InetAddress.getLoopbackAddress(), server.getLocalPort(), (int) TIMEOUT)
+                    .get(TIMEOUT, TimeUnit.MILLISECONDS);
+            assertTrue(result.get().isSuccess());
+        }
+    }
+
+    @Test
+    public void servicePingToClosedPortFails() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = server.getLocalPort();
+        }
+        Optional<PingResult> result = prober.servicePing(InetAddress.getLoopbackAddress(), port, (int) TIMEOUT)
+                .get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertFalse(result.get().isSuccess());
+    }
+}
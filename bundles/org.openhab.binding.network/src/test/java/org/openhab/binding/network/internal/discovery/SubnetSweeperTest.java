@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@see SubnetSweeper}
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+public class SubnetSweeperTest {
+    private static final String LOCALHOST = "127.0.0.1";
+    private static final long TIMEOUT = 5000;
+
+    private @Mock NetworkUtils networkUtils;
+    private @Mock SubnetSweeper.Listener listener;
+
+    @Test
+    public void openAndClosedPortsAreReported() throws IOException {
+        int closedPort;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getByName(LOCALHOST))) {
+            closedPort = closed.getLocalPort();
+        }
+        try (ServerSocket open = new ServerSocket(0, 1, InetAddress.getByName(LOCALHOST))) {
+            SubnetSweeper sweeper = new SubnetSweeper(Arrays.asList(closedPort, open.getLocalPort()), 100, 1000, null,
+                    networkUtils);
+            sweeper.sweep(Collections.singleton(LOCALHOST), listener);
+
+            verify(listener).serviceReachable(LOCALHOST, open.getLocalPort());
+            verify(listener, never()).serviceReachable(LOCALHOST, closedPort);
+            // the refused connection proves the host is there
+            verify(listener).hostReachable(LOCALHOST);
+            verify(listener).progress(1, 1);
+            verifyNoInteractions(networkUtils);
+        }
+    }
+
+    @Test
+    public void cancelledSweepStops() throws IOException {
+        SubnetSweeper sweeper = new SubnetSweeper(Collections.singleton(80), 1, 1000, null, networkUtils);
+        sweeper.cancel();
+        sweeper.sweep(Arrays.asList("192.0.2.1", "192.0.2.2"), listener);
+
+        verify(listener, never()).progress(anyInt(), anyInt());
+    }
+
+    @Test
+    public void pingsAreReported() throws IOException {
+        when(networkUtils.javaPing(anyInt(), any())).thenReturn(Optional.of(new PingResult(true, 1)));
+        SubnetSweeper sweeper = new SubnetSweeper(Collections.emptyList(), 100, 1000, IpPingMethodEnum.JAVA_PING,
+                networkUtils);
+        sweeper.sweep(Collections.singleton(LOCALHOST), listener);
+
+        verify(listener).hostReachable(LOCALHOST);
+        verify(listener).progress(1, 1);
+    }
+
+    @Test
+    public void cancelledSweepDoesNotReportLatePings() throws Exception {
+        CountDownLatch pinging = new CountDownLatch(1);
+        when(networkUtils.javaPing(anyInt(), any())).thenAnswer(invocation -> {
+            pinging.countDown();
+            try {
+                Thread.sleep(TIMEOUT);
+            } catch (InterruptedException e) {
+                // the sweep has been cancelled, the ping answers nevertheless
+            }
+            return Optional.of(new PingResult(true, 1));
+        });
+        SubnetSweeper sweeper = new SubnetSweeper(Collections.emptyList(), 100, 1000, IpPingMethodEnum.JAVA_PING,
+                networkUtils);
+        Thread sweep = new Thread(() -> {
+            try {
+                sweeper.sweep(Collections.singleton(LOCALHOST), listener);
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+        sweep.start();
+
+        assertTrue(pinging.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        sweeper.cancel();
+        sweep.join(TIMEOUT);
+
+        assertFalse(sweep.isAlive());
+        verify(listener, after(500).never()).hostReachable(anyString());
+    }
+
+    @Test
+    public void maximumDurationIncludesPings() {
+        SubnetSweeper sweeper = new SubnetSweeper(Arrays.asList(80, 443), 300, 500,
+                IpPingMethodEnum.IPUTILS_LINUX_PING, networkUtils);
+        // 100 addresses with 3 probes each are sent within 1 s, but 4 rounds of 32 pings of at least 1 s take 4 s
+        assertEquals(5000, sweeper.getMaximumDurationInMS(100));
+    }
+
+    @Test
+    public void maximumDurationWithoutPings() {
+        SubnetSweeper sweeper = new SubnetSweeper(Arrays.asList(80, 443), 100, 500, null, networkUtils);
+        // 100 addresses with 2 probes each are sent within 2 s, the last probes time out after 500 ms
+        assertEquals(2500, sweeper.getMaximumDurationInMS(100));
+    }
+}
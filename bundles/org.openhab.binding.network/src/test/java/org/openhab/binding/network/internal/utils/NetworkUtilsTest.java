@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@see NetworkUtils}
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class NetworkUtilsTest {
+
+    @Test
+    public void timeoutsAreRoundedUpToWholeSeconds() {
+        assertEquals(1, NetworkUtils.toTimeoutInSeconds(0));
+        assertEquals(1, NetworkUtils.toTimeoutInSeconds(500));
+        assertEquals(1, NetworkUtils.toTimeoutInSeconds(1000));
+        assertEquals(2, NetworkUtils.toTimeoutInSeconds(1001));
+        assertEquals(5, NetworkUtils.toTimeoutInSeconds(5000));
+    }
+}
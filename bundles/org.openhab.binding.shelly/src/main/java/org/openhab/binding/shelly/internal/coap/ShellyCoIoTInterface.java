@@ -32,6 +32,6 @@ public interface ShellyCoIoTInterface {
 
     public CoIotDescrSen fixDescription(CoIotDescrSen sen, Map<String, CoIotDescrBlk> blkMap);
 
-    public boolean handleStatusUpdate(List<CoIotSensor> sensorUpdates, CoIotDescrSen sen, CoIotSensor s,
-            Map<String, State> updates);
+    public boolean handleStatusUpdate(List<CoIotSensor> sensorUpdates, Map<String, CoIotDescrSen> sensors,
+            CoIotDescrSen sen, CoIotSensor s, Map<String, State> updates);
 }
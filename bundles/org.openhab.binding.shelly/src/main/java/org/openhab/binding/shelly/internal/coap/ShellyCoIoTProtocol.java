@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.shelly.internal.api.ShellyDeviceProfile;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
@@ -63,8 +64,8 @@ public class ShellyCoIoTProtocol {
         this.profile = thingHandler.getProfile();
     }
 
-    protected boolean handleStatusUpdate(List<CoIotSensor> sensorUpdates, CoIotDescrSen sen, CoIotSensor s,
-            Map<String, State> updates) {
+    protected boolean handleStatusUpdate(List<CoIotSensor> sensorUpdates, Map<String, CoIotDescrSen> sensors,
+            CoIotDescrSen sen, CoIotSensor s, Map<String, State> updates) {
         // Process status information and convert into channel updates
         // Integer rIndex = Integer.parseInt(sen.links) + 1;
         // String rGroup = getProfile().numRelays <= 1 ? CHANNEL_GROUP_RELAY_CONTROL
@@ -93,7 +94,7 @@ public class ShellyCoIoTProtocol {
                 switch (sen.desc.toLowerCase()) {
                     case "state": // Relay status +
                     case "output":
-                        updatePower(profile, updates, rIndex, sen, s, sensorUpdates);
+                        updatePower(profile, updates, rIndex, sen, s, sensorUpdates, sensors);
                         break;
                     case "input":
                         handleInput(sen, s, rGroup, updates);
@@ -210,9 +211,10 @@ public class ShellyCoIoTProtocol {
      * @param sen Sensor description from the update
      * @param s New sensor value
      * @param allUpdatesList of updates. This is required, because we need to update both values at the same time
+     * @param sensors Resolved sensor descriptions by sensor id, used to find the matching brightness and power values
      */
     protected void updatePower(ShellyDeviceProfile profile, Map<String, State> updates, int id, CoIotDescrSen sen,
-            CoIotSensor s, List<CoIotSensor> allUpdates) {
+            CoIotSensor s, List<CoIotSensor> allUpdates, Map<String, CoIotDescrSen> sensors) {
         String group = "";
         String channel = CHANNEL_BRIGHTNESS;
         String checkL = ""; // RGBW-white uses 4 different Power, Brightness, VSwitch values
@@ -232,18 +234,19 @@ public class ShellyCoIoTProtocol {
 
             // We need to update brigthtess and on/off state at the same time to avoid "flipping brightness slider" in
             // the UI
-            Double brightness = -1.0;
-            Double power = -1.0;
+            double brightness = -1.0;
+            double power = -1.0;
             for (CoIotSensor update : allUpdates) {
-                CoIotDescrSen d = fixDescription(sensorMap.getOrDefault(update.id, new CoIotDescrSen()), blkMap);
-                if (!checkL.isEmpty() && !d.links.equals(checkL)) {
+                @Nullable
+                CoIotDescrSen d = sensors.get(update.id);
+                if (d == null || (!checkL.isEmpty() && !d.links.equals(checkL))) {
                     // continue until we find the correct one
                     continue;
                 }
                 if (d.desc.equalsIgnoreCase("brightness")) {
-                    brightness = new Double(update.value);
+                    brightness = update.value;
                 } else if (d.desc.equalsIgnoreCase("output") || d.desc.equalsIgnoreCase("state")) {
-                    power = new Double(update.value);
+                    power = update.value;
                 }
             }
             if (power != -1) {
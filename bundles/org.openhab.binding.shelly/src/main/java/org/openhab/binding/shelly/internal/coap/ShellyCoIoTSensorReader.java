@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.COIOT_TAG_GENERIC;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The {@link ShellyCoIoTSensorReader} reads the sensor values of a CoIoT status update, e.g. {"G":[[0,112,0]]}
+ *
+ * The sensor objects are reused from one status update to the next. The devices report their sensors in the same order
+ * on every update, so the reader also detects which values have changed since the last update.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class ShellyCoIoTSensorReader {
+    private final List<CoIotSensor> sensors = new ArrayList<>();
+    private int[] ids = new int[0];
+    private boolean[] changed = new boolean[0];
+    // number of sensors with a value from the last update, all others are reported as changed
+    private int known = 0;
+    private volatile boolean resetPending = false;
+
+    /**
+     * Read the sensor values of a status update
+     *
+     * @param payload CoAP payload (Json format)
+     * @return true if the payload contains a sensor list
+     * @throws JsonSyntaxException if the payload is malformed
+     */
+    boolean read(String payload) throws JsonSyntaxException {
+        if (resetPending) {
+            resetPending = false;
+            known = 0;
+        }
+
+        boolean found = false;
+        int count = 0;
+        try (JsonReader in = new JsonReader(new StringReader(payload))) {
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!in.nextName().equals(COIOT_TAG_GENERIC)) {
+                    in.skipValue();
+                    continue;
+                }
+                found = true;
+                in.beginArray();
+                while (in.hasNext()) {
+                    in.beginArray();
+                    in.nextInt(); // alway 0
+                    int id = in.nextInt();
+                    readSensor(in, count, id);
+                    in.endArray();
+                    count++;
+                }
+                in.endArray();
+            }
+            in.endObject();
+        } catch (IOException | IllegalStateException e) {
+            known = 0;
+            throw new JsonSyntaxException("Invalid sensor list", e);
+        }
+
+        if (count < sensors.size()) {
+            sensors.subList(count, sensors.size()).clear();
+        }
+        known = count;
+        return found;
+    }
+
+    private void readSensor(JsonReader in, int index, int id) throws IOException {
+        if (index == sensors.size()) {
+            sensors.add(new CoIotSensor());
+            if (index == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(8, index * 2));
+                changed = Arrays.copyOf(changed, ids.length);
+            }
+        }
+        CoIotSensor sensor = sensors.get(index);
+        boolean sameSensor = (index < known) && (ids[index] == id);
+        if (!sameSensor) {
+            ids[index] = id;
+            sensor.id = Integer.toString(id);
+        }
+
+        boolean valueChanged;
+        JsonToken token = in.peek();
+        if (token == JsonToken.STRING) {
+            // handle as string
+            String value = in.nextString();
+            valueChanged = !value.equals(sensor.valueStr) || (sensor.value != -1);
+            sensor.valueStr = value;
+            sensor.value = -1;
+            sensor.valueArray = null;
+        } else if (token == JsonToken.NUMBER) {
+            // handle as double
+            double value = in.nextDouble();
+            valueChanged = (value != sensor.value) || !"".equals(sensor.valueStr);
+            sensor.value = value;
+            sensor.valueStr = "";
+            sensor.valueArray = null;
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            List<Object> values = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.STRING) {
+                    values.add(in.nextString());
+                } else {
+                    // skip
+                    in.skipValue();
+                }
+            }
+            in.endArray();
+            valueChanged = !values.equals(sensor.valueArray);
+            sensor.value = 0;
+            sensor.valueStr = null;
+            sensor.valueArray = values;
+        } else {
+            in.skipValue();
+            valueChanged = true;
+        }
+        changed[index] = !sameSensor || valueChanged;
+    }
+
+    /**
+     * @return the sensors of the last status update, the list and its elements are reused by the next update
+     */
+    List<CoIotSensor> getSensors() {
+        return sensors;
+    }
+
+    /**
+     * @param index Index of the sensor in the last status update
+     * @return true if the sensor value has changed compared to the update before
+     */
+    boolean isChanged(int index) {
+        return changed[index];
+    }
+
+    /**
+     * Report all sensor values of the next status update as changed
+     */
+    void reset() {
+        resetPending = true;
+    }
+}
@@ -67,10 +67,10 @@ public class ShellyCoIoTVersion2 extends ShellyCoIoTProtocol implements ShellyCo
      *            ignored.
      */
     @Override
-    public boolean handleStatusUpdate(List<CoIotSensor> sensorUpdates, CoIotDescrSen sen, CoIotSensor s,
-            Map<String, State> updates) {
+    public boolean handleStatusUpdate(List<CoIotSensor> sensorUpdates, Map<String, CoIotDescrSen> sensors,
+            CoIotDescrSen sen, CoIotSensor s, Map<String, State> updates) {
         // first check the base implementation
-        if (super.handleStatusUpdate(sensorUpdates, sen, s, updates)) {
+        if (super.handleStatusUpdate(sensorUpdates, sensors, sen, s, updates)) {
             // process by the base class
             return true;
         }
@@ -105,7 +105,7 @@ public class ShellyCoIoTVersion2 extends ShellyCoIoTProtocol implements ShellyCo
                 break;
 
             case "1101": // S, output, 0/1
-                updatePower(profile, updates, rIndex, sen, s, sensorUpdates);
+                updatePower(profile, updates, rIndex, sen, s, sensorUpdates, sensors);
                 break;
             case "1102": // roler_0: S, roller, open/close/stop -> roller state
                 updateChannel(updates, CHANNEL_GROUP_ROL_CONTROL, CHANNEL_ROL_CONTROL_STATE, getStringType(s.valueStr));
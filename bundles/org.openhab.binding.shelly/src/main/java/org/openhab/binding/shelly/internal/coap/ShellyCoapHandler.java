@@ -36,9 +36,7 @@ import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescrTypeAdapter;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescription;
-import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotGenericSensorList;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
-import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensorTypeAdapter;
 import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
 import org.openhab.binding.shelly.internal.handler.ShellyBaseHandler;
 import org.openhab.core.types.State;
@@ -79,6 +77,11 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private String lastPayload = "";
     private Map<String, CoIotDescrBlk> blkMap = new LinkedHashMap<>();
     private Map<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
+    // fixed sensor descriptions with a valid link by sensor id, built once per device description, null until built
+    private volatile @Nullable Map<String, CoIotDescrSen> resolvedSensors;
+    // the reader is also the lock for the sensor tables, so a status update never sees a description half updated
+    private final ShellyCoIoTSensorReader sensorReader = new ShellyCoIoTSensorReader();
+    private final Map<String, State> updates = new TreeMap<>();
     private final ShellyDeviceProfile profile;
 
     public ShellyCoapHandler(ShellyBaseHandler thingHandler, ShellyCoapServer coapServer) {
@@ -88,7 +91,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         this.coiot = new ShellyCoIoTVersion1(thingName, thingHandler, blkMap, sensorMap); // Default
 
         gsonBuilder.registerTypeAdapter(CoIotDevDescription.class, new CoIotDevDescrTypeAdapter());
-        gsonBuilder.registerTypeAdapter(CoIotGenericSensorList.class, new CoIotSensorTypeAdapter());
         gson = gsonBuilder.create();
         profile = thingHandler.getProfile();
     }
@@ -110,7 +112,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
 
             logger.debug("{}: Starting CoAP Listener", thingName);
-            coapServer.start(config.localIp, this);
+            coapServer.start(config.localIp, config.deviceIp, this);
             statusClient = new CoapClient(completeUrl(config.deviceIp, COLOIT_URI_DEVSTATUS))
                     .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
             discover();
@@ -134,10 +136,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         if (response == null) {
             return; // other device instance
         }
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        if (!ip.contains(config.deviceIp)) {
-            return;
-        }
+        // the CoIoT server routes only messages of this device to the handler
 
         String payload = "";
         String devId = "";
@@ -178,16 +177,21 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                             if (!coiotBound) {
                                 thingHandler.updateProperties(PROPERTY_COAP_VERSION, sVersion);
                                 logger.debug("{}: CoIoT Version {} detected", thingName, iVersion);
-                                if (iVersion == COIOT_VERSION_1) {
-                                    coiot = new ShellyCoIoTVersion1(thingName, thingHandler, blkMap, sensorMap);
-                                } else if (iVersion == COIOT_VERSION_2) {
-                                    coiot = new ShellyCoIoTVersion2(thingName, thingHandler, blkMap, sensorMap);
-                                } else {
-                                    logger.warn("{}: Unsupported CoAP version detected: {}", thingName, sVersion);
-                                    return;
+                                synchronized (sensorReader) {
+                                    if (iVersion == COIOT_VERSION_1) {
+                                        coiot = new ShellyCoIoTVersion1(thingName, thingHandler, blkMap, sensorMap);
+                                    } else if (iVersion == COIOT_VERSION_2) {
+                                        coiot = new ShellyCoIoTVersion2(thingName, thingHandler, blkMap, sensorMap);
+                                    } else {
+                                        logger.warn("{}: Unsupported CoAP version detected: {}", thingName, sVersion);
+                                        return;
+                                    }
+                                    // the descriptions are fixed by the protocol version
+                                    invalidateSensors();
                                 }
                                 coiotVers = iVersion;
                                 coiotBound = true;
+                                coapServer.registerDeviceId(devId, this);
                             }
                             break;
                         case COIOT_OPTION_STATUS_VALIDITY:
@@ -251,65 +255,68 @@ public class ShellyCoapHandler implements ShellyCoapListener {
      */
     private void handleDeviceDescription(String devId, String payload) {
         logger.debug("{}: CoIoT Device Description for {}: {}", thingName, devId, payload);
+        synchronized (sensorReader) {
+            invalidateSensors();
 
-        try {
-            boolean valid = true;
-
-            // Decode Json
-            CoIotDevDescription descr = gson.fromJson(payload, CoIotDevDescription.class);
-            for (int i = 0; i < descr.blk.size(); i++) {
-                CoIotDescrBlk blk = descr.blk.get(i);
-                logger.debug("{}:    id={}: {}", thingName, blk.id, blk.desc);
-                if (!blkMap.containsKey(blk.id)) {
-                    blkMap.put(blk.id, blk);
-                } else {
-                    blkMap.replace(blk.id, blk);
-                }
-                if ((blk.type != null) && !blk.type.isEmpty()) {
-                    // in fact it is a sen entry - that's vioaling the Spec
-                    logger.trace("{}:    fix: auto-create sensor definition for id {}/{}!", thingName, blk.id,
-                            blk.desc);
-                    CoIotDescrSen sen = new CoIotDescrSen();
-                    sen.id = blk.id;
-                    sen.desc = blk.desc;
-                    sen.type = blk.type;
-                    sen.range = blk.range;
-                    sen.links = blk.links;
-                    valid &= addSensor(sen);
+            try {
+                boolean valid = true;
+
+                // Decode Json
+                CoIotDevDescription descr = gson.fromJson(payload, CoIotDevDescription.class);
+                for (int i = 0; i < descr.blk.size(); i++) {
+                    CoIotDescrBlk blk = descr.blk.get(i);
+                    logger.debug("{}:    id={}: {}", thingName, blk.id, blk.desc);
+                    if (!blkMap.containsKey(blk.id)) {
+                        blkMap.put(blk.id, blk);
+                    } else {
+                        blkMap.replace(blk.id, blk);
+                    }
+                    if ((blk.type != null) && !blk.type.isEmpty()) {
+                        // in fact it is a sen entry - that's vioaling the Spec
+                        logger.trace("{}:    fix: auto-create sensor definition for id {}/{}!", thingName, blk.id,
+                                blk.desc);
+                        CoIotDescrSen sen = new CoIotDescrSen();
+                        sen.id = blk.id;
+                        sen.desc = blk.desc;
+                        sen.type = blk.type;
+                        sen.range = blk.range;
+                        sen.links = blk.links;
+                        valid &= addSensor(sen);
+                    }
                 }
-            }
 
-            // Save to thing properties
-            thingHandler.updateProperties(PROPERTY_COAP_DESCR, payload);
+                // Save to thing properties
+                thingHandler.updateProperties(PROPERTY_COAP_DESCR, payload);
 
-            logger.debug("{}: Adding {} sensor definitions", thingName, descr.sen.size());
-            if (descr.sen != null) {
-                for (int i = 0; i < descr.sen.size(); i++) {
-                    valid &= addSensor(descr.sen.get(i));
+                logger.debug("{}: Adding {} sensor definitions", thingName, descr.sen.size());
+                if (descr.sen != null) {
+                    for (int i = 0; i < descr.sen.size(); i++) {
+                        valid &= addSensor(descr.sen.get(i));
+                    }
                 }
-            }
 
-            if (!valid) {
-                logger.debug(
-                        "{}: Incompatible device description detected for CoIoT version {} (id length mismatch), discarding!",
-                        thingName, coiot.getVersion());
-                thingHandler.updateProperties(PROPERTY_COAP_DESCR, "");
-                discover();
-                return;
+                if (!valid) {
+                    logger.debug(
+                            "{}: Incompatible device description detected for CoIoT version {} (id length mismatch), discarding!",
+                            thingName, coiot.getVersion());
+                    thingHandler.updateProperties(PROPERTY_COAP_DESCR, "");
+                    discover();
+                    return;
+                }
+            } catch (JsonSyntaxException e) {
+                logger.warn("{}: Unable to parse CoAP Device Description! JSON={}", thingName, payload);
+            } catch (NullPointerException | IllegalArgumentException e) {
+                logger.warn("{}: Unable to parse CoAP Device Description! JSON={}", thingName, payload, e);
             }
-        } catch (JsonSyntaxException e) {
-            logger.warn("{}: Unable to parse CoAP Device Description! JSON={}", thingName, payload);
-        } catch (NullPointerException | IllegalArgumentException e) {
-            logger.warn("{}: Unable to parse CoAP Device Description! JSON={}", thingName, payload, e);
         }
     }
 
     /**
-     * Add a new sensor to the sensor table
+     * Add a new sensor to the sensor table, called with the sensorReader lock held
      *
      * @param sen CoIotDescrSen of the sensor
      */
-    private synchronized boolean addSensor(CoIotDescrSen sen) {
+    private boolean addSensor(CoIotDescrSen sen) {
         logger.debug("{}:    id {}: {}, Type={}, Range={}, Links={}", thingName, sen.id, sen.desc, sen.type, sen.range,
                 sen.links);
         // CoIoT version 2 changes from 3 digit IDs to 4 digit IDs
@@ -366,86 +373,138 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             handleDeviceDescription(devId, savedDescr);
         }
 
-        // Parse Json,
-        CoIotGenericSensorList list = gson.fromJson(fixJSON(payload), CoIotGenericSensorList.class);
-        if (list.generic == null) {
-            logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
-            return;
-        }
+        // Parse Json, the sensor objects are reused by the next update
+        synchronized (sensorReader) {
+            if (!sensorReader.read(payload)) {
+                logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
+                return;
+            }
 
-        List<CoIotSensor> sensorUpdates = list.generic;
-        Map<String, State> updates = new TreeMap<String, State>();
-        logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
-        int failed = 0;
-        for (int i = 0; i < sensorUpdates.size(); i++) {
-            try {
-                CoIotSensor s = sensorUpdates.get(i);
-                if (!sensorMap.containsKey(s.id)) {
-                    logger.debug("{}: Invalid id in sensor description: {}, index {}", thingName, s.id, i);
-                    failed++;
-                    continue;
+            List<CoIotSensor> sensorUpdates = sensorReader.getSensors();
+            Map<String, CoIotDescrSen> sensors = resolveSensors();
+            // Battery devices reset the serial on wake-up and report each event once, so all values are processed
+            boolean skipUnchanged = !profile.hasBattery;
+            updates.clear();
+            logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
+            int failed = 0;
+            int unchanged = 0;
+            for (int i = 0; i < sensorUpdates.size(); i++) {
+                try {
+                    CoIotSensor s = sensorUpdates.get(i);
+                    CoIotDescrSen sen = sensors.get(s.id);
+                    if (sen == null) {
+                        CoIotDescrSen described = sensorMap.get(s.id);
+                        if (described == null) {
+                            logger.debug("{}: Invalid id in sensor description: {}, index {}", thingName, s.id, i);
+                            failed++;
+                        } else {
+                            logger.debug("{}: Unable to find BLK for link {} from sen.id={}", thingName,
+                                    getString(described.links), s.id);
+                        }
+                        continue;
+                    }
+                    if (skipUnchanged && !sensorReader.isChanged(i) && !isPowerSensor(sen)) {
+                        // value was already processed with the last update
+                        unchanged++;
+                        continue;
+                    }
+
+                    if (logger.isTraceEnabled()) {
+                        CoIotDescrBlk element = blkMap.get(sen.links);
+                        logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={}: {})",
+                                thingName, i, s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc,
+                                sen.type, sen.range, sen.links, element != null ? element.desc : "");
+                    }
+
+                    if (!coiot.handleStatusUpdate(sensorUpdates, sensors, sen, s, updates)) {
+                        logger.debug("{}: CoIoT data for id {}, type {}/{} not processed, value={}; payload={}",
+                                thingName, sen.id, sen.type, sen.desc, s.value, payload);
+                    }
+                } catch (NullPointerException | IllegalArgumentException e) {
+                    // even the processing of one value failed we continue with the next one (sometimes this is caused
+                    // by buggy formats provided by the device
+                    logger.debug("{}: Unable to process data from sensor[{}], devId={}, payload={}", thingName, i,
+                            devId, payload, e);
                 }
-                CoIotDescrSen sen = sensorMap.get(s.id);
-                Objects.requireNonNull(sen);
-                // find matching sensor definition from device description, use the Link ID as index
-                sen = coiot.fixDescription(sen, blkMap);
-                if (!blkMap.containsKey(sen.links)) {
-                    logger.debug("{}: Invalid CoAP description: sen.links({}", thingName, getString(sen.links));
-                    continue;
+            }
+
+            if (!updates.isEmpty() || (unchanged > 0)) {
+                int updated = 0;
+                for (Map.Entry<String, State> u : updates.entrySet()) {
+                    updated += thingHandler.updateChannel(u.getKey(), u.getValue(), false) ? 1 : 0;
+                }
+                if (updated > 0) {
+                    logger.debug("{}: {} channels updated from CoIoT status, serial={}", thingName, updated, serial);
+                    if (profile.isSensor || profile.isRoller) {
+                        // CoAP is currently lacking the lastUpdate info, so we use host timestamp
+                        thingHandler.updateChannel(profile.getControlGroup(0), CHANNEL_LAST_UPDATE, getTimestamp());
+                    }
                 }
 
-                if (!blkMap.containsKey(sen.links)) {
-                    logger.debug("{}: Unable to find BLK for link {} from sen.id={}", thingName, sen.links, sen.id);
-                    continue;
+                // Old firmware release are lacking various status values, which are not updated using CoIoT.
+                // In this case we keep a refresh so it gets polled using REST. Beginning with Firmware 1.6 most
+                // of the values are available
+                if ((!thingHandler.autoCoIoT && (thingHandler.scheduledUpdates <= 1))
+                        || (thingHandler.autoCoIoT && !profile.isLight && !profile.hasBattery)) {
+                    thingHandler.requestUpdates(1, false);
                 }
-                CoIotDescrBlk element = blkMap.get(sen.links);
-                logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={}: {})", thingName,
-                        i, s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc, sen.type, sen.range,
-                        sen.links, element.desc);
-
-                if (!coiot.handleStatusUpdate(sensorUpdates, sen, s, updates)) {
-                    logger.debug("{}: CoIoT data for id {}, type {}/{} not processed, value={}; payload={}", thingName,
-                            sen.id, sen.type, sen.desc, s.value, payload);
+            } else {
+                if (failed == sensorUpdates.size()) {
+                    logger.debug("{}: Device description problem detected, re-discover", thingName);
+                    coiotBound = false;
+                    discover();
                 }
-            } catch (NullPointerException | IllegalArgumentException e) {
-                // even the processing of one value failed we continue with the next one (sometimes this is caused by
-                // buggy formats provided by the device
-                logger.debug("{}: Unable to process data from sensor[{}], devId={}, payload={}", thingName, i, devId,
-                        payload, e);
             }
+
+            // Remember serial, new packets with same serial will be ignored
+            lastSerial = serial;
+            lastPayload = payload;
         }
+    }
 
-        if (!updates.isEmpty()) {
-            int updated = 0;
-            for (Map.Entry<String, State> u : updates.entrySet()) {
-                updated += thingHandler.updateChannel(u.getKey(), u.getValue(), false) ? 1 : 0;
-            }
-            if (updated > 0) {
-                logger.debug("{}: {} channels updated from CoIoT status, serial={}", thingName, updated, serial);
-                if (profile.isSensor || profile.isRoller) {
-                    // CoAP is currently lacking the lastUpdate info, so we use host timestamp
-                    thingHandler.updateChannel(profile.getControlGroup(0), CHANNEL_LAST_UPDATE, getTimestamp());
-                }
+    /**
+     * Get the sensor descriptions used to process the status updates. The descriptions are fixed and checked against
+     * the blk entries once per device description instead of on every update.
+     *
+     * @return map of the fixed sensor descriptions with a valid link by sensor id
+     */
+    private Map<String, CoIotDescrSen> resolveSensors() {
+        // called with the sensorReader lock held, which protects the sensor tables
+        @Nullable
+        Map<String, CoIotDescrSen> sensors = resolvedSensors;
+        if (sensors != null) {
+            return sensors;
+        }
+        // a description without any usable sensor is resolved once as well
+        Map<String, CoIotDescrSen> resolved = new HashMap<>();
+        for (Map.Entry<String, CoIotDescrSen> entry : sensorMap.entrySet()) {
+            // find matching sensor definition from device description, use the Link ID as index
+            CoIotDescrSen sen = coiot.fixDescription(entry.getValue(), blkMap);
+            if (blkMap.containsKey(sen.links)) {
+                resolved.put(entry.getKey(), sen);
             }
+        }
+        resolvedSensors = resolved;
+        return resolved;
+    }
 
-            // Old firmware release are lacking various status values, which are not updated using CoIoT.
-            // In this case we keep a refresh so it gets polled using REST. Beginning with Firmware 1.6 most
-            // of the values are available
-            if ((!thingHandler.autoCoIoT && (thingHandler.scheduledUpdates <= 1))
-                    || (thingHandler.autoCoIoT && !profile.isLight && !profile.hasBattery)) {
-                thingHandler.requestUpdates(1, false);
-            }
-        } else {
-            if (failed == sensorUpdates.size()) {
-                logger.debug("{}: Device description problem detected, re-discover", thingName);
-                coiotBound = false;
-                discover();
-            }
+    /**
+     * Discard the resolved sensor descriptions and report all values of the next status update as changed, so the
+     * values are processed again with the new descriptions.
+     */
+    private void invalidateSensors() {
+        synchronized (sensorReader) {
+            resolvedSensors = null;
+            sensorReader.reset();
         }
+    }
 
-        // Remember serial, new packets with same serial will be ignored
-        lastSerial = serial;
-        lastPayload = payload;
+    /**
+     * The power state is processed together with the brightness, so it gets processed even if only the brightness has
+     * changed.
+     */
+    private static boolean isPowerSensor(CoIotDescrSen sen) {
+        return sen.desc.equalsIgnoreCase("state") || sen.desc.equalsIgnoreCase("output") || sen.id.equals("1101");
     }
 
     private void discover() {
@@ -530,6 +589,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private void resetSerial() {
         lastSerial = -1;
         lastPayload = "";
+        sensorReader.reset();
     }
 
     public int getVersion() {
@@ -12,18 +12,22 @@
  */
 package org.openhab.binding.shelly.internal.coap;
 
-import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.COIOT_PORT;
+import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.*;
+import static org.openhab.binding.shelly.internal.util.ShellyUtils.substringBeforeLast;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
 import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.network.CoapEndpoint;
@@ -39,6 +43,9 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link ShellyCoapServer} implements the UDP listener and status event processor (for /cit/s messages)
  *
+ * Each received message is routed to the listener of the sending device, which is looked up by the source address or,
+ * if the device has changed its address, by the device id included in the message.
+ *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
@@ -50,6 +57,8 @@ public class ShellyCoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private final CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);;
     private final Set<ShellyCoapListener> coapListeners = new ConcurrentHashSet<>();
+    private final Map<InetAddress, ShellyCoapListener> listenersByAddress = new ConcurrentHashMap<>();
+    private final Map<String, ShellyCoapListener> listenersByDevId = new ConcurrentHashMap<>();
 
     protected class ShellyStatusListener extends CoapResource {
         private ShellyCoapServer listener;
@@ -76,7 +85,16 @@ public class ShellyCoapServer {
         }
     }
 
-    public synchronized void start(String localIp, ShellyCoapListener listener) throws UnknownHostException {
+    /**
+     * Start the listener (if not yet done) and register a device
+     *
+     * @param localIp IP address of the interface to listen on
+     * @param deviceIp IP address of the device, messages from this address are routed to the listener
+     * @param listener Listener processing the messages of the device
+     * @throws UnknownHostException
+     */
+    public synchronized void start(String localIp, String deviceIp, ShellyCoapListener listener)
+            throws UnknownHostException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, COIOT_PORT);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -97,10 +115,46 @@ public class ShellyCoapServer {
         if (!coapListeners.contains(listener)) {
             coapListeners.add(listener);
         }
+        listenersByAddress.values().removeIf(listener::equals);
+        listenersByAddress.put(InetAddress.getByName(deviceIp), listener);
+    }
+
+    /**
+     * Register the device id reported by a device, so its messages are still routed to the listener after the device
+     * has changed its address.
+     *
+     * @param devId Device id as included in the CoIoT messages (type#serial#version)
+     * @param listener Listener processing the messages of the device
+     */
+    public void registerDeviceId(String devId, ShellyCoapListener listener) {
+        String key = substringBeforeLast(devId, "#");
+        if (!key.isEmpty() && coapListeners.contains(listener)) {
+            listenersByDevId.put(key, listener);
+        }
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        InetSocketAddress peer = response.getSourceContext().getPeerAddress();
+        ShellyCoapListener listener = listenersByAddress.get(peer.getAddress());
+        if (listener == null) {
+            String devId = getDeviceId(response);
+            listener = listenersByDevId.get(substringBeforeLast(devId, "#"));
+            if (listener == null) {
+                // device discovery is based on mDNS, messages from unknown devices are ignored
+                logger.trace("CoIoT message from unknown device {} ({}) ignored", peer, devId);
+                return;
+            }
+        }
+        listener.processResponse(response);
+    }
+
+    private static String getDeviceId(Response response) {
+        for (Option opt : response.getOptions().getOthers()) {
+            if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
+                return opt.getStringValue();
+            }
+        }
+        return "";
     }
 
     public static Response createResponse(Request request) {
@@ -123,6 +177,8 @@ public class ShellyCoapServer {
      */
     public void stop(ShellyCoapListener listener) {
         coapListeners.remove(listener);
+        listenersByAddress.values().removeIf(listener::equals);
+        listenersByDevId.values().removeIf(listener::equals);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -134,6 +190,8 @@ public class ShellyCoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            listenersByAddress.clear();
+            listenersByDevId.clear();
             started = false;
             logger.debug("CoAP Listener stopped");
         }
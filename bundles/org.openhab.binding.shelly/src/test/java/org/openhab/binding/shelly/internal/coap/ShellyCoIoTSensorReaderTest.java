@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Tests for {@link ShellyCoIoTSensorReader}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoIoTSensorReaderTest {
+
+    private final ShellyCoIoTSensorReader reader = new ShellyCoIoTSensorReader();
+
+    @Test
+    public void sensorValuesAreRead() {
+        assertTrue(reader.read("{\"G\":[[0,112,1],[0,111,23.5],[0,9103,\"open\"]]}"));
+
+        List<CoIotSensor> sensors = reader.getSensors();
+        assertEquals(3, sensors.size());
+        assertEquals("112", sensors.get(0).id);
+        assertEquals(1.0, sensors.get(0).value);
+        assertEquals("", sensors.get(0).valueStr);
+        assertEquals("111", sensors.get(1).id);
+        assertEquals(23.5, sensors.get(1).value);
+        assertEquals("9103", sensors.get(2).id);
+        assertEquals("open", sensors.get(2).valueStr);
+        for (int i = 0; i < sensors.size(); i++) {
+            assertTrue(reader.isChanged(i));
+        }
+    }
+
+    @Test
+    public void onlyChangedValuesAreReported() {
+        reader.read("{\"G\":[[0,112,1],[0,111,23.5],[0,9103,\"open\"]]}");
+        CoIotSensor first = reader.getSensors().get(0);
+
+        reader.read("{\"G\":[[0,112,1],[0,111,24],[0,9103,\"open\"]]}");
+
+        // the sensor objects are reused
+        assertSame(first, reader.getSensors().get(0));
+        assertFalse(reader.isChanged(0));
+        assertTrue(reader.isChanged(1));
+        assertEquals(24.0, reader.getSensors().get(1).value);
+        assertFalse(reader.isChanged(2));
+    }
+
+    @Test
+    public void shiftedIdsAreReportedAsChanged() {
+        reader.read("{\"G\":[[0,112,1],[0,111,23.5]]}");
+
+        // an additional sensor shifts the others to the next index, even with the same values
+        reader.read("{\"G\":[[0,118,1],[0,112,1],[0,111,23.5]]}");
+
+        List<CoIotSensor> sensors = reader.getSensors();
+        assertEquals("118", sensors.get(0).id);
+        assertEquals("112", sensors.get(1).id);
+        assertEquals("111", sensors.get(2).id);
+        assertTrue(reader.isChanged(0));
+        assertTrue(reader.isChanged(1));
+        assertTrue(reader.isChanged(2));
+
+        reader.read("{\"G\":[[0,112,1]]}");
+
+        assertEquals(1, reader.getSensors().size());
+        assertEquals("112", reader.getSensors().get(0).id);
+        assertTrue(reader.isChanged(0));
+    }
+
+    @Test
+    public void switchesBetweenStringAndNumberAreReportedAsChanged() {
+        reader.read("{\"G\":[[0,9103,\"1\"]]}");
+
+        reader.read("{\"G\":[[0,9103,1]]}");
+        CoIotSensor sensor = reader.getSensors().get(0);
+        assertTrue(reader.isChanged(0));
+        assertEquals(1.0, sensor.value);
+        assertEquals("", sensor.valueStr);
+
+        reader.read("{\"G\":[[0,9103,\"1\"]]}");
+        assertTrue(reader.isChanged(0));
+        assertEquals(-1.0, sensor.value);
+        assertEquals("1", sensor.valueStr);
+
+        reader.read("{\"G\":[[0,9103,\"1\"]]}");
+        assertFalse(reader.isChanged(0));
+    }
+
+    @Test
+    public void arrayValuesAreRead() {
+        reader.read("{\"G\":[[0,119,[\"S\",\"L\",3]]]}");
+
+        CoIotSensor sensor = reader.getSensors().get(0);
+        assertEquals(List.of("S", "L"), sensor.valueArray);
+        assertNull(sensor.valueStr);
+        assertTrue(reader.isChanged(0));
+
+        reader.read("{\"G\":[[0,119,[\"S\",\"L\",4]]]}");
+        assertFalse(reader.isChanged(0));
+
+        reader.read("{\"G\":[[0,119,[\"L\"]]]}");
+        assertTrue(reader.isChanged(0));
+        assertEquals(List.of("L"), sensor.valueArray);
+
+        reader.read("{\"G\":[[0,119,2]]}");
+        assertTrue(reader.isChanged(0));
+        assertNull(sensor.valueArray);
+    }
+
+    @Test
+    public void resetReportsAllValuesAsChanged() {
+        reader.read("{\"G\":[[0,112,1],[0,111,23.5]]}");
+
+        reader.reset();
+        reader.read("{\"G\":[[0,112,1],[0,111,23.5]]}");
+        assertTrue(reader.isChanged(0));
+        assertTrue(reader.isChanged(1));
+
+        reader.read("{\"G\":[[0,112,1],[0,111,23.5]]}");
+        assertFalse(reader.isChanged(0));
+        assertFalse(reader.isChanged(1));
+    }
+
+    @Test
+    public void payloadsWithoutSensorListAreDetected() {
+        assertFalse(reader.read("{\"A\":1}"));
+        reader.read("{\"G\":[[0,112,1]]}");
+        assertThrows(JsonSyntaxException.class, () -> reader.read("{\"G\":[[0,112"));
+
+        // the values read before the failure are not used to detect changes
+        reader.read("{\"G\":[[0,112,1]]}");
+        assertTrue(reader.isChanged(0));
+    }
+}
@@ -66,6 +66,9 @@ public class SonosHandlerFactory extends BaseThingHandlerFactory {
 
     private final Map<String, ServiceRegistration<AudioSink>> audioSinkRegistrations = new ConcurrentHashMap<>();
 
+    // the zone group topology and the handlers shared by all zone players
+    private final SonosHousehold household = new SonosHousehold();
+
     // optional OPML URL that can be configured through configuration admin
     private @Nullable String opmlUrl;
 
@@ -118,7 +121,7 @@ public class SonosHandlerFactory extends BaseThingHandlerFactory {
                     thing.getConfiguration().get(UDN));
 
             ZonePlayerHandler handler = new ZonePlayerHandler(thingRegistry, thing, upnpIOService, opmlUrl,
-                    stateDescriptionProvider);
+                    stateDescriptionProvider, household);
 
             // register the speaker as an audio sink
             String callbackUrl = createCallbackUrl();
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.sonos.internal.handler.ZonePlayerHandler;
+
+/**
+ * The {@link SonosHousehold} is the model of the zone group topology shared by all zone players.
+ *
+ * Every zone player receives the whole topology of its household by the ZoneGroupTopology events. The first event
+ * reporting a change updates the topology for all the players of the household, so the same topology is parsed only
+ * once and the other players look up their group without parsing it again. As several households may exist in the
+ * same network, the topology is kept per player.
+ *
+ * The handlers of the zone players register themselves by their UDN, so they are found without scanning the thing
+ * registry.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SonosHousehold {
+
+    /**
+     * The parsed topology of a household.
+     */
+    private static class Topology {
+        private final String zoneGroupState;
+        private final List<SonosZoneGroup> zoneGroups;
+        private final Map<String, SonosZoneGroup> zoneGroupsByMember = new HashMap<>();
+
+        private Topology(String zoneGroupState) {
+            this.zoneGroupState = zoneGroupState;
+            this.zoneGroups = Collections.unmodifiableList(SonosXMLParser.getZoneGroupFromXML(zoneGroupState));
+            for (SonosZoneGroup zoneGroup : zoneGroups) {
+                for (String member : zoneGroup.getMembers()) {
+                    zoneGroupsByMember.put(member, zoneGroup);
+                }
+            }
+        }
+    }
+
+    private final Map<String, Topology> topologies = new ConcurrentHashMap<>();
+    private final Map<String, ZonePlayerHandler> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Updates the topology of the household of a zone player.
+     *
+     * @param udn the UDN of the zone player which received the topology
+     * @param zoneGroupState the value of the ZoneGroupState variable
+     * @return true if the topology has changed, false if it has already been received from another player
+     */
+    public synchronized boolean updateZoneGroupState(String udn, String zoneGroupState) {
+        Topology current = topologies.get(udn);
+        if (current != null && current.zoneGroupState.equals(zoneGroupState)) {
+            return false;
+        }
+        Topology topology = new Topology(zoneGroupState);
+        topologies.put(udn, topology);
+        for (String member : topology.zoneGroupsByMember.keySet()) {
+            topologies.put(member, topology);
+        }
+        return true;
+    }
+
+    /**
+     * Returns all zone groups of the household of a zone player.
+     *
+     * @param udn the UDN of the zone player
+     * @return the zone groups or an empty list if the topology has not been received yet
+     */
+    public List<SonosZoneGroup> getZoneGroups(String udn) {
+        Topology topology = topologies.get(udn);
+        return topology == null ? Collections.emptyList() : topology.zoneGroups;
+    }
+
+    /**
+     * Returns the zone group a zone player is member of.
+     *
+     * @param udn the UDN of the zone player
+     * @return the zone group or null if the topology has not been received yet
+     */
+    public @Nullable SonosZoneGroup getZoneGroup(String udn) {
+        Topology topology = topologies.get(udn);
+        return topology == null ? null : topology.zoneGroupsByMember.get(udn);
+    }
+
+    /**
+     * Registers the handler of a zone player.
+     */
+    public void registerHandler(String udn, ZonePlayerHandler handler) {
+        handlers.put(udn, handler);
+    }
+
+    /**
+     * Unregisters the handler of a zone player and forgets its topology.
+     */
+    public void unregisterHandler(String udn, ZonePlayerHandler handler) {
+        if (handlers.remove(udn, handler)) {
+            topologies.remove(udn);
+        }
+    }
+
+    /**
+     * Returns the handler of a zone player.
+     *
+     * @param udn the UDN of the zone player
+     * @return the handler or null if no handler is registered for the UDN
+     */
+    public @Nullable ZonePlayerHandler getHandler(String udn) {
+        return handlers.get(udn);
+    }
+}
@@ -58,6 +58,13 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    private static final Pattern HOME_THEATER_MEMBER_PATTERN = Pattern.compile("(RINCON_\\w+)");
+    private static final Pattern MODEL_NAME_PATTERN = Pattern.compile("\\s(.*)");
+
+    // creating a reader looks up the parser implementation, so each thread keeps the reader it has created
+    private static final ThreadLocal<@Nullable XMLReader> READERS = new ThreadLocal<>();
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -83,6 +90,28 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * Parses the source with the reader of the current thread. When parsing again from within a handler, the nested
+     * parsing gets a reader of its own.
+     */
+    private static void parse(DefaultHandler handler, InputSource source) throws IOException, SAXException {
+        XMLReader reader = READERS.get();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        } else {
+            // the reader is in use until the parsing is finished
+            READERS.remove();
+        }
+        try {
+            reader.setContentHandler(handler);
+            reader.parse(source);
+        } finally {
+            // do not keep the handler and its results
+            reader.setContentHandler(NO_HANDLER);
+            READERS.set(reader);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -92,9 +121,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +139,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,11 +158,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -156,9 +179,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -172,9 +193,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -188,9 +207,7 @@ public class SonosXMLParser {
     public static Map<String, String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -203,9 +220,7 @@ public class SonosXMLParser {
     public static Map<String, String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -218,9 +233,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -234,9 +247,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -254,14 +265,14 @@ public class SonosXMLParser {
 
         private String id = "";
         private String parentId = "";
-        private StringBuilder upnpClass = new StringBuilder();
-        private StringBuilder res = new StringBuilder();
-        private StringBuilder title = new StringBuilder();
-        private StringBuilder album = new StringBuilder();
-        private StringBuilder albumArtUri = new StringBuilder();
-        private StringBuilder creator = new StringBuilder();
-        private StringBuilder trackNumber = new StringBuilder();
-        private StringBuilder desc = new StringBuilder();
+        private final StringBuilder upnpClass = new StringBuilder();
+        private final StringBuilder res = new StringBuilder();
+        private final StringBuilder title = new StringBuilder();
+        private final StringBuilder album = new StringBuilder();
+        private final StringBuilder albumArtUri = new StringBuilder();
+        private final StringBuilder creator = new StringBuilder();
+        private final StringBuilder trackNumber = new StringBuilder();
+        private final StringBuilder desc = new StringBuilder();
         private @Nullable Element element;
 
         private List<SonosEntry> artists = new ArrayList<>();
@@ -368,15 +379,17 @@ public class SonosXMLParser {
                 element = null;
 
                 int trackNumberVal = 0;
-                try {
-                    trackNumberVal = Integer.parseInt(trackNumber.toString());
-                } catch (Exception e) {
+                if (trackNumber.length() > 0) {
+                    try {
+                        trackNumberVal = Integer.parseInt(trackNumber.toString());
+                    } catch (Exception e) {
+                    }
                 }
 
                 SonosResourceMetaData md = null;
 
                 // The resource description is needed for playing favorites on pandora
-                if (!desc.toString().isEmpty()) {
+                if (desc.length() > 0) {
                     try {
                         md = getResourceMetaData(desc.toString());
                     } catch (SAXException ignore) {
@@ -386,14 +399,15 @@ public class SonosXMLParser {
 
                 artists.add(new SonosEntry(id, title.toString(), parentId, album.toString(), albumArtUri.toString(),
                         creator.toString(), upnpClass.toString(), res.toString(), trackNumberVal, md));
-                title = new StringBuilder();
-                upnpClass = new StringBuilder();
-                res = new StringBuilder();
-                album = new StringBuilder();
-                albumArtUri = new StringBuilder();
-                creator = new StringBuilder();
-                trackNumber = new StringBuilder();
-                desc = new StringBuilder();
+                // the builders are reused for the next entry of the queue
+                title.setLength(0);
+                upnpClass.setLength(0);
+                res.setLength(0);
+                album.setLength(0);
+                albumArtUri.setLength(0);
+                creator.setLength(0);
+                trackNumber.setLength(0);
+                desc.setLength(0);
             }
         }
 
@@ -406,9 +420,9 @@ public class SonosXMLParser {
 
         private String id = "";
         private String parentId = "";
-        private StringBuilder title = new StringBuilder();
-        private StringBuilder upnpClass = new StringBuilder();
-        private StringBuilder desc = new StringBuilder();
+        private final StringBuilder title = new StringBuilder();
+        private final StringBuilder upnpClass = new StringBuilder();
+        private final StringBuilder desc = new StringBuilder();
         private @Nullable Element element;
         private @Nullable SonosResourceMetaData metaData;
 
@@ -471,9 +485,9 @@ public class SonosXMLParser {
                 metaData = new SonosResourceMetaData(id, parentId, title.toString(), upnpClass.toString(),
                         desc.toString());
                 element = null;
-                desc = new StringBuilder();
-                upnpClass = new StringBuilder();
-                title = new StringBuilder();
+                desc.setLength(0);
+                upnpClass.setLength(0);
+                title.setLength(0);
             }
         }
 
@@ -597,7 +611,7 @@ public class SonosXMLParser {
 
         private Set<String> getAllHomeTheaterMembers(String homeTheaterDescription) {
             Set<String> homeTheaterMembers = new HashSet<>();
-            Matcher matcher = Pattern.compile("(RINCON_\\w+)").matcher(homeTheaterDescription);
+            Matcher matcher = HOME_THEATER_MEMBER_PATTERN.matcher(homeTheaterDescription);
             while (matcher.find()) {
                 String member = matcher.group();
                 homeTheaterMembers.add(member);
@@ -927,10 +941,8 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(roomNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -966,10 +978,8 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(modelNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -1010,7 +1020,7 @@ public class SonosXMLParser {
      */
     public static String extractModelName(String sonosModelName) {
         String ret = sonosModelName;
-        Matcher matcher = Pattern.compile("\\s(.*)").matcher(ret);
+        Matcher matcher = MODEL_NAME_PATTERN.matcher(ret);
         if (matcher.find()) {
             ret = matcher.group(1);
         }
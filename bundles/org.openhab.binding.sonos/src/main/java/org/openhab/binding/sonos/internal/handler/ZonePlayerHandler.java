@@ -37,6 +37,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.sonos.internal.SonosAlarm;
 import org.openhab.binding.sonos.internal.SonosBindingConstants;
 import org.openhab.binding.sonos.internal.SonosEntry;
+import org.openhab.binding.sonos.internal.SonosHousehold;
 import org.openhab.binding.sonos.internal.SonosMetaData;
 import org.openhab.binding.sonos.internal.SonosMusicService;
 import org.openhab.binding.sonos.internal.SonosResourceMetaData;
@@ -117,6 +118,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private final UpnpIOService service;
     private final @Nullable String opmlUrl;
     private final SonosStateDescriptionOptionProvider stateDescriptionProvider;
+    private final SonosHousehold household;
 
     private ZonePlayerConfiguration configuration = new ZonePlayerConfiguration();
 
@@ -149,13 +151,15 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     public ZonePlayerHandler(ThingRegistry thingRegistry, Thing thing, UpnpIOService upnpIOService,
-            @Nullable String opmlUrl, SonosStateDescriptionOptionProvider stateDescriptionProvider) {
+            @Nullable String opmlUrl, SonosStateDescriptionOptionProvider stateDescriptionProvider,
+            SonosHousehold household) {
         super(thing);
         this.localThingRegistry = thingRegistry;
         this.opmlUrl = opmlUrl;
         logger.debug("Creating a ZonePlayerHandler for thing '{}'", getThing().getUID());
         this.service = upnpIOService;
         this.stateDescriptionProvider = stateDescriptionProvider;
+        this.household = household;
     }
 
     @Override
@@ -170,6 +174,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         removeSubscription();
         service.unregisterParticipant(this);
+        household.unregisterHandler(getUDN(), this);
     }
 
     @Override
@@ -184,6 +189,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         configuration = getConfigAs(ZonePlayerConfiguration.class);
         String udn = configuration.udn;
         if (udn != null && !udn.isEmpty()) {
+            household.registerHandler(udn, this);
             service.registerParticipant(this);
             pollingJob = scheduler.scheduleWithFixedDelay(this::poll, 0, configuration.refresh, TimeUnit.SECONDS);
         } else {
@@ -458,6 +464,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                     updateChannel(ZONENAME);
                     break;
                 case "ZoneGroupState":
+                    household.updateZoneGroupState(getUDN(), value);
                     updateChannel(COORDINATOR);
                     // Update coordinator after a change is made to the grouping of Sonos players
                     updateGroupCoordinator();
@@ -1007,12 +1014,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     public String getCoordinator() {
-        for (SonosZoneGroup zg : getZoneGroups()) {
-            if (zg.getMembers().contains(getUDN())) {
-                return zg.getCoordinator();
-            }
-        }
-        return getUDN();
+        SonosZoneGroup zg = household.getZoneGroup(getUDN());
+        return zg != null ? zg.getCoordinator() : getUDN();
     }
 
     public boolean isCoordinator() {
@@ -1632,8 +1635,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     private Collection<SonosZoneGroup> getZoneGroups() {
-        String zoneGroupState = stateMap.get("ZoneGroupState");
-        return zoneGroupState == null ? Collections.emptyList() : SonosXMLParser.getZoneGroupFromXML(zoneGroupState);
+        return household.getZoneGroups(getUDN());
     }
 
     /**
@@ -1643,13 +1645,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
      * @return {@link SonosZoneGroup}
      */
     private @Nullable SonosZoneGroup getCurrentZoneGroup() {
-        for (SonosZoneGroup zoneGroup : getZoneGroups()) {
-            if (zoneGroup.getMembers().contains(getUDN())) {
-                return zoneGroup;
-            }
+        SonosZoneGroup zoneGroup = household.getZoneGroup(getUDN());
+        if (zoneGroup == null) {
+            logger.debug("Could not fetch Sonos group state information");
         }
-        logger.debug("Could not fetch Sonos group state information");
-        return null;
+        return zoneGroup;
     }
 
     /**
@@ -2019,15 +2019,10 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     protected List<String> getZoneGroupMembers() {
         List<String> result = new ArrayList<>();
 
-        Collection<SonosZoneGroup> zoneGroups = getZoneGroups();
-        if (!zoneGroups.isEmpty()) {
-            for (SonosZoneGroup zg : zoneGroups) {
-                if (zg.getMembers().contains(getUDN())) {
-                    result.addAll(zg.getMembers());
-                    break;
-                }
-            }
-        } else {
+        SonosZoneGroup zoneGroup = household.getZoneGroup(getUDN());
+        if (zoneGroup != null) {
+            result.addAll(zoneGroup.getMembers());
+        } else if (getZoneGroups().isEmpty()) {
             // If the group topology was not yet received, return at least the current Sonos zone
             result.add(getUDN());
         }
@@ -2047,6 +2042,10 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     protected ZonePlayerHandler getHandlerByName(String remotePlayerName) throws IllegalStateException {
+        ZonePlayerHandler registeredHandler = household.getHandler(remotePlayerName);
+        if (registeredHandler != null) {
+            return registeredHandler;
+        }
         for (ThingTypeUID supportedThingType : SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS) {
             Thing thing = localThingRegistry.get(new ThingUID(supportedThingType, remotePlayerName));
             if (thing != null) {
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SonosXMLParser}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SonosXMLParserTest {
+
+    private static final String RENDERING_CONTROL_EVENT = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/RCS/\">"
+            + "<InstanceID val=\"0\"><Volume channel=\"Master\" val=\"25\"/><Volume channel=\"LF\" val=\"100\"/>"
+            + "<Mute channel=\"Master\" val=\"0\"/><Loudness channel=\"Master\" val=\"1\"/><Bass val=\"2\"/>"
+            + "<Treble val=\"-1\"/><OutputFixed val=\"0\"/><PresetNameList>FactoryDefaults</PresetNameList>"
+            + "</InstanceID></Event>";
+
+    private static final String DIDL_LITE_START = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">";
+
+    @Test
+    public void renderingControlEventIsParsed() {
+        Map<String, String> changes = SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT);
+
+        assertEquals("25", changes.get("VolumeMaster"));
+        assertEquals("100", changes.get("VolumeLF"));
+        assertEquals("0", changes.get("MuteMaster"));
+        assertEquals("1", changes.get("LoudnessMaster"));
+        assertEquals("2", changes.get("Bass"));
+        assertEquals("-1", changes.get("Treble"));
+        assertEquals("0", changes.get("OutputFixed"));
+        assertEquals("FactoryDefaults", changes.get("PresetNameList"));
+        assertEquals(8, changes.size());
+    }
+
+    @Test
+    public void entriesWithResourceMetaDataAreParsed() {
+        // the resource metadata of each entry is parsed while the parsing of the entries is still in progress
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(favorites());
+
+        assertEquals(2, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            SonosEntry entry = entries.get(i);
+            assertEquals("FV:2/" + i, entry.getId());
+            assertEquals("FV:2", entry.getParentId());
+            assertEquals("Station " + i, entry.getTitle());
+            assertEquals("object.itemobject.item.sonos-favorite", entry.getUpnpClass());
+            assertEquals("x-sonosapi-stream:s" + i, entry.getRes());
+            assertEquals(0, entry.getOriginalTrackNumber());
+
+            SonosResourceMetaData metaData = entry.getResourceMetaData();
+            assertNotNull(metaData);
+            assertEquals("F00092020s" + i, metaData.getId());
+            assertEquals("L", metaData.getParentId());
+            assertEquals("Radio " + i, metaData.getTitle());
+            assertEquals("object.item.audioItem.audioBroadcast", metaData.getUpnpClass());
+            assertEquals("SA_RINCON65031_", metaData.getDesc());
+        }
+    }
+
+    @Test
+    public void entriesWithTrackNumbersAreParsed() {
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(DIDL_LITE_START
+                + "<item id=\"Q:0/1\" parentID=\"Q:0\" restricted=\"true\"><res>x-file-cifs://nas/a.mp3</res>"
+                + "<dc:title>Song</dc:title><upnp:class>object.item.audioItem.musicTrack</upnp:class>"
+                + "<dc:creator>Artist</dc:creator><upnp:album>Album</upnp:album>"
+                + "<upnp:originalTrackNumber>7</upnp:originalTrackNumber></item>"
+                + "<item id=\"Q:0/2\" parentID=\"Q:0\" restricted=\"true\"><res>x-file-cifs://nas/b.mp3</res>"
+                + "<dc:title>Other</dc:title></item></DIDL-Lite>");
+
+        assertEquals(2, entries.size());
+        assertEquals("Song", entries.get(0).getTitle());
+        assertEquals("Artist", entries.get(0).getCreator());
+        assertEquals("Album", entries.get(0).getAlbum());
+        assertEquals(7, entries.get(0).getOriginalTrackNumber());
+        assertNull(entries.get(0).getResourceMetaData());
+        // the values of the first entry are not carried over
+        assertEquals("Other", entries.get(1).getTitle());
+        assertEquals("", entries.get(1).getCreator());
+        assertEquals("", entries.get(1).getAlbum());
+        assertEquals(0, entries.get(1).getOriginalTrackNumber());
+    }
+
+    @Test
+    public void parsingContinuesAfterNestedAndFailedParses() {
+        Map<String, String> expected = SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT);
+        assertEquals(2, SonosXMLParser.getEntriesFromString(favorites()).size());
+
+        assertTrue(SonosXMLParser.getEntriesFromString("<DIDL-Lite><item id=\"1\">").isEmpty());
+        assertTrue(SonosXMLParser.getRenderingControlFromXML("no xml").isEmpty());
+
+        assertEquals(expected, SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT));
+        assertEquals(2, SonosXMLParser.getEntriesFromString(favorites()).size());
+        assertEquals(expected, SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT));
+    }
+
+    private static String favorites() {
+        StringBuilder xml = new StringBuilder(DIDL_LITE_START);
+        for (int i = 0; i < 2; i++) {
+            String resourceMetaData = DIDL_LITE_START + "<item id=\"F00092020s" + i
+                    + "\" parentID=\"L\" restricted=\"true\"><dc:title>Radio " + i + "</dc:title>"
+                    + "<upnp:class>object.item.audioItem.audioBroadcast</upnp:class>"
+                    + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">"
+                    + "SA_RINCON65031_</desc></item></DIDL-Lite>";
+            xml.append("<item id=\"FV:2/").append(i).append("\" parentID=\"FV:2\" restricted=\"false\">")
+                    .append("<dc:title>Station ").append(i).append("</dc:title>")
+                    .append("<upnp:class>object.itemobject.item.sonos-favorite</upnp:class>")
+                    .append("<r:ordinal>").append(i).append("</r:ordinal>")
+                    .append("<res protocolInfo=\"x-sonosapi-stream:*:*:*\">x-sonosapi-stream:s").append(i)
+                    .append("</res><r:type>instantPlay</r:type><r:description>TuneIn Station</r:description>")
+                    .append("<r:resMD>").append(escape(resourceMetaData)).append("</r:resMD></item>");
+        }
+        return xml.append("</DIDL-Lite>").toString();
+    }
+
+    private static String escape(String xml) {
+        return xml.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
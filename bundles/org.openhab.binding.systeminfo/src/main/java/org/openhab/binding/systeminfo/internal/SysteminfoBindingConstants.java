@@ -28,6 +28,8 @@ public class SysteminfoBindingConstants {
 
     public static final ThingTypeUID THING_TYPE_COMPUTER = new ThingTypeUID(BINDING_ID, "computer");
 
+    public static final ThingTypeUID THING_TYPE_RUNTIME = new ThingTypeUID(BINDING_ID, "runtime");
+
     // Thing properties
     /**
      * Number of CPU logical cores
@@ -330,4 +332,67 @@ public class SysteminfoBindingConstants {
      *
      */
     public static final String PID_PARAM = "pid";
+
+    // Runtime thing
+
+    /**
+     * Name of the configuration parameter of the runtime thing that defines its refresh time
+     */
+    public static final String RUNTIME_REFRESH_TIME = "interval";
+
+    /**
+     * Names of the openHAB thread pools reported by the runtime thing, which are also the IDs of their channel groups
+     */
+    public static final String POOL_THING_HANDLER = "thingHandler";
+    public static final String POOL_DISCOVERY = "discovery";
+    public static final String POOL_PERSISTENCE = "persist";
+    public static final String POOL_SAFE_CALL = "safeCall";
+
+    /**
+     * Channels of the thread pool groups
+     */
+    public static final String CHANNEL_POOL_ACTIVE = "active";
+    public static final String CHANNEL_POOL_QUEUED = "queued";
+    public static final String CHANNEL_POOL_COMPLETED = "completed";
+    public static final String CHANNEL_POOL_SIZE = "poolSize";
+
+    /**
+     * Number of events published on the event bus per second
+     */
+    public static final String CHANNEL_EVENTS_RATE = "events#rate";
+
+    /**
+     * Number of events published on the event bus since the thing has been initialized
+     */
+    public static final String CHANNEL_EVENTS_TOTAL = "events#total";
+
+    /**
+     * Heap memory of the JVM in MB
+     */
+    public static final String CHANNEL_HEAP_USED = "heap#used";
+    public static final String CHANNEL_HEAP_COMMITTED = "heap#committed";
+    public static final String CHANNEL_HEAP_MAX = "heap#max";
+    public static final String CHANNEL_HEAP_USED_PERCENT = "heap#usedPercent";
+
+    /**
+     * Number of garbage collections during the last refresh interval
+     */
+    public static final String CHANNEL_GC_COLLECTIONS = "gc#collections";
+
+    /**
+     * Time in ms spent in garbage collection during the last refresh interval
+     */
+    public static final String CHANNEL_GC_TIME = "gc#time";
+
+    /**
+     * Share of the last refresh interval spent in garbage collection in %
+     */
+    public static final String CHANNEL_GC_OVERHEAD = "gc#overhead";
+
+    /**
+     * Thread counts of the JVM
+     */
+    public static final String CHANNEL_JVM_THREADS = "threads#count";
+    public static final String CHANNEL_JVM_THREADS_DAEMON = "threads#daemon";
+    public static final String CHANNEL_JVM_THREADS_PEAK = "threads#peak";
 }
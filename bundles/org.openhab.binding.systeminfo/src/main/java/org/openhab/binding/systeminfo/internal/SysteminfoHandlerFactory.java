@@ -12,20 +12,28 @@
  */
 package org.openhab.binding.systeminfo.internal;
 
-import static org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants.THING_TYPE_COMPUTER;
+import static org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants.*;
 
-import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.systeminfo.internal.handler.RuntimeHandler;
 import org.openhab.binding.systeminfo.internal.handler.SysteminfoHandler;
+import org.openhab.binding.systeminfo.internal.model.EventCounter;
 import org.openhab.binding.systeminfo.internal.model.SysteminfoInterface;
+import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
@@ -41,10 +49,13 @@ import org.osgi.service.component.annotations.Reference;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.systeminfo")
 public class SysteminfoHandlerFactory extends BaseThingHandlerFactory {
 
-    private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections.singleton(THING_TYPE_COMPUTER);
+    private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream.of(THING_TYPE_COMPUTER, THING_TYPE_RUNTIME)
+            .collect(Collectors.toSet());
 
     private @NonNullByDefault({}) SysteminfoInterface systeminfo;
 
+    private final Map<ThingUID, ServiceRegistration<?>> eventCounterRegistrations = new ConcurrentHashMap<>();
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -56,11 +67,25 @@ public class SysteminfoHandlerFactory extends BaseThingHandlerFactory {
 
         if (thingTypeUID.equals(THING_TYPE_COMPUTER)) {
             return new SysteminfoHandler(thing, systeminfo);
+        } else if (thingTypeUID.equals(THING_TYPE_RUNTIME)) {
+            // the events are only counted while a runtime thing exists
+            EventCounter eventCounter = new EventCounter();
+            eventCounterRegistrations.put(thing.getUID(),
+                    bundleContext.registerService(EventSubscriber.class.getName(), eventCounter, null));
+            return new RuntimeHandler(thing, eventCounter);
         }
 
         return null;
     }
 
+    @Override
+    protected void removeHandler(ThingHandler thingHandler) {
+        ServiceRegistration<?> registration = eventCounterRegistrations.remove(thingHandler.getThing().getUID());
+        if (registration != null) {
+            registration.unregister();
+        }
+    }
+
     @Reference
     public void bindSystemInfo(SysteminfoInterface systeminfo) {
         this.systeminfo = systeminfo;
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.handler;
+
+import static org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.systeminfo.internal.model.EventCounter;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingStatus;
+import org.openhab.core.thing.ThingStatusDetail;
+import org.openhab.core.thing.binding.BaseThingHandler;
+import org.openhab.core.types.Command;
+import org.openhab.core.types.RefreshType;
+import org.openhab.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RuntimeHandler} provides information about the openHAB runtime itself: the utilization of its thread
+ * pools, the number of events published on the event bus, and the heap, garbage collection and threads of the JVM.
+ *
+ * Rates and garbage collection statistics are calculated for the time since the previous refresh.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class RuntimeHandler extends BaseThingHandler {
+    private static final int DEFAULT_REFRESH_INTERVAL = 10;
+    private static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
+
+    /**
+     * The reported thread pools and if they are scheduled pools. A pool has to be requested with the right method
+     * from the {@link ThreadPoolManager}, otherwise a pool with the wrong type might be created.
+     */
+    private static final Map<String, Boolean> POOLS = new LinkedHashMap<>();
+    static {
+        POOLS.put(POOL_THING_HANDLER, true);
+        POOLS.put(POOL_DISCOVERY, true);
+        POOLS.put(POOL_PERSISTENCE, true);
+        POOLS.put(POOL_SAFE_CALL, false);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RuntimeHandler.class);
+
+    private final EventCounter eventCounter;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private @Nullable ScheduledFuture<?> refreshTask;
+
+    // the values of the previous refresh
+    private long lastRefreshTime;
+    private long lastEventCount;
+    private long lastCollectionCount;
+    private long lastCollectionTime;
+
+    public RuntimeHandler(Thing thing, EventCounter eventCounter) {
+        super(thing);
+        this.eventCounter = eventCounter;
+    }
+
+    @Override
+    public void initialize() {
+        int interval = DEFAULT_REFRESH_INTERVAL;
+        Object intervalValue = getConfig().get(RUNTIME_REFRESH_TIME);
+        if (intervalValue instanceof BigDecimal) {
+            interval = ((BigDecimal) intervalValue).intValue();
+        }
+        if (interval <= 0) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                    "Refresh time must be positive number!");
+            return;
+        }
+
+        lastRefreshTime = System.nanoTime();
+        lastEventCount = eventCounter.getCount();
+        lastCollectionCount = getCollectionCount();
+        lastCollectionTime = getCollectionTime();
+
+        logger.debug("Schedule runtime information updates at fixed rate {} s.", interval);
+        refreshTask = scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.SECONDS);
+        updateStatus(ThingStatus.ONLINE);
+    }
+
+    @Override
+    public void dispose() {
+        ScheduledFuture<?> localRefreshTask = refreshTask;
+        if (localRefreshTask != null) {
+            localRefreshTask.cancel(true);
+            refreshTask = null;
+        }
+    }
+
+    @Override
+    public void handleCommand(ChannelUID channelUID, Command command) {
+        if (command instanceof RefreshType) {
+            refresh();
+        } else {
+            logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
+        }
+    }
+
+    private synchronized void refresh() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefreshTime) / 1e9;
+        lastRefreshTime = now;
+
+        long eventCount = eventCounter.getCount();
+        if (elapsedSeconds > 0) {
+            updateChannel(CHANNEL_EVENTS_RATE, new DecimalType(round((eventCount - lastEventCount) / elapsedSeconds)));
+        }
+        updateChannel(CHANNEL_EVENTS_TOTAL, new DecimalType(eventCount));
+        lastEventCount = eventCount;
+
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        updateChannel(CHANNEL_HEAP_USED, new DecimalType(getSizeInMB(heap.getUsed())));
+        updateChannel(CHANNEL_HEAP_COMMITTED, new DecimalType(getSizeInMB(heap.getCommitted())));
+        if (heap.getMax() > 0) {
+            updateChannel(CHANNEL_HEAP_MAX, new DecimalType(getSizeInMB(heap.getMax())));
+            updateChannel(CHANNEL_HEAP_USED_PERCENT, new DecimalType(round(100.0 * heap.getUsed() / heap.getMax())));
+        }
+
+        long collectionCount = getCollectionCount();
+        long collectionTime = getCollectionTime();
+        updateChannel(CHANNEL_GC_COLLECTIONS, new DecimalType(collectionCount - lastCollectionCount));
+        updateChannel(CHANNEL_GC_TIME, new DecimalType(collectionTime - lastCollectionTime));
+        if (elapsedSeconds > 0) {
+            double overhead = (collectionTime - lastCollectionTime) / (elapsedSeconds * 10);
+            updateChannel(CHANNEL_GC_OVERHEAD, new DecimalType(round(Math.min(100, overhead))));
+        }
+        lastCollectionCount = collectionCount;
+        lastCollectionTime = collectionTime;
+
+        updateChannel(CHANNEL_JVM_THREADS, new DecimalType(threads.getThreadCount()));
+        updateChannel(CHANNEL_JVM_THREADS_DAEMON, new DecimalType(threads.getDaemonThreadCount()));
+        updateChannel(CHANNEL_JVM_THREADS_PEAK, new DecimalType(threads.getPeakThreadCount()));
+
+        POOLS.forEach(this::refreshPool);
+    }
+
+    private void refreshPool(String poolName, boolean scheduled) {
+        if (!isLinked(poolName + "#" + CHANNEL_POOL_ACTIVE) && !isLinked(poolName + "#" + CHANNEL_POOL_QUEUED)
+                && !isLinked(poolName + "#" + CHANNEL_POOL_COMPLETED) && !isLinked(poolName + "#" + CHANNEL_POOL_SIZE)) {
+            // the pool is not requested if nobody is interested, as requesting it would create it
+            return;
+        }
+        ExecutorService pool = scheduled ? ThreadPoolManager.getScheduledPool(poolName)
+                : ThreadPoolManager.getPool(poolName);
+        if (!(pool instanceof ThreadPoolExecutor)) {
+            logger.debug("Thread pool {} does not provide statistics", poolName);
+            return;
+        }
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) pool;
+        updateChannel(poolName + "#" + CHANNEL_POOL_ACTIVE, new DecimalType(executor.getActiveCount()));
+        updateChannel(poolName + "#" + CHANNEL_POOL_QUEUED, new DecimalType(executor.getQueue().size()));
+        updateChannel(poolName + "#" + CHANNEL_POOL_COMPLETED, new DecimalType(executor.getCompletedTaskCount()));
+        updateChannel(poolName + "#" + CHANNEL_POOL_SIZE, new DecimalType(executor.getPoolSize()));
+    }
+
+    private void updateChannel(String channelID, State state) {
+        if (isLinked(channelID)) {
+            updateState(channelID, state);
+        }
+    }
+
+    private long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private long getCollectionTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return time;
+    }
+
+    private long getSizeInMB(long sizeInBytes) {
+        return Math.round(sizeInBytes / (1024D * 1024));
+    }
+
+    private BigDecimal round(double value) {
+        return new BigDecimal(value).setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
+    }
+}
@@ -237,12 +237,18 @@ public class SysteminfoHandler extends BaseThingHandler {
     }
 
     private void publishData(Set<ChannelUID> channels) {
-        Iterator<ChannelUID> iter = channels.iterator();
-        while (iter.hasNext()) {
-            ChannelUID channeUID = iter.next();
-            if (isLinked(channeUID.getId())) {
-                publishDataForChannel(channeUID);
+        // all channels of a refresh cycle are answered from one snapshot, so every device is queried once
+        systeminfo.beginSnapshot();
+        try {
+            Iterator<ChannelUID> iter = channels.iterator();
+            while (iter.hasNext()) {
+                ChannelUID channeUID = iter.next();
+                if (isLinked(channeUID.getId())) {
+                    publishDataForChannel(channeUID);
+                }
             }
+        } finally {
+            systeminfo.endSnapshot();
         }
     }
 
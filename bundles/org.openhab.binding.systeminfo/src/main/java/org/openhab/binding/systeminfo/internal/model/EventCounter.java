@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+
+/**
+ * The {@link EventCounter} counts all events published on the event bus. It is only registered as
+ * {@link EventSubscriber} while a runtime thing exists, so the event bus is not burdened otherwise.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class EventCounter implements EventSubscriber {
+
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return Collections.singleton(EventSubscriber.ALL_EVENT_TYPES);
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        count.increment();
+    }
+
+    /**
+     * @return the number of events received since the counter has been created
+     */
+    public long getCount() {
+        return count.sum();
+    }
+}
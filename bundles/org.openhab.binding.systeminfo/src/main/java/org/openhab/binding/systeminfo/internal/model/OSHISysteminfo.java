@@ -13,6 +13,11 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -75,6 +80,18 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    // the snapshot of each thread, so the refresh cycles of several priorities and things do not interfere
+    private final ThreadLocal<@Nullable Snapshot> snapshots = new ThreadLocal<>();
+
+    /**
+     * The information read during a snapshot.
+     */
+    private static class Snapshot {
+        final Set<Object> updatedDevices = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Map<Integer, @Nullable OSProcess> processes = new HashMap<>();
+        double @Nullable [] loadAverages;
+    }
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
@@ -111,8 +128,54 @@ public class OSHISysteminfo implements SysteminfoInterface {
         return devices[index];
     }
 
+    @Override
+    public void beginSnapshot() {
+        snapshots.set(new Snapshot());
+    }
+
+    @Override
+    public void endSnapshot() {
+        snapshots.remove();
+    }
+
+    /**
+     * Checks if the attributes of a device have to be updated, which is the case once per snapshot or on every call
+     * outside of a snapshot.
+     */
+    private boolean needsUpdate(Object device) {
+        Snapshot snapshot = snapshots.get();
+        return snapshot == null || snapshot.updatedDevices.add(device);
+    }
+
+    private void updateAttributes(NetworkIF network) {
+        if (needsUpdate(network)) {
+            network.updateAttributes();
+        }
+    }
+
+    private void updateAttributes(PowerSource powerSource) {
+        if (needsUpdate(powerSource)) {
+            powerSource.updateAttributes();
+        }
+    }
+
+    private void updateAttributes(OSFileStore fileStore) {
+        if (needsUpdate(fileStore)) {
+            fileStore.updateAtrributes();
+        }
+    }
+
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+        Snapshot snapshot = snapshots.get();
+        OSProcess process;
+        if (snapshot == null) {
+            process = operatingSystem.getProcess(pid);
+        } else if (snapshot.processes.containsKey(pid)) {
+            process = snapshot.processes.get(pid);
+        } else {
+            process = operatingSystem.getProcess(pid);
+            snapshot.processes.put(pid, process);
+        }
         if (process == null) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
@@ -196,7 +259,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        updateAttributes(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -205,7 +268,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        updateAttributes(fileStore);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -214,7 +277,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        updateAttributes(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -225,7 +288,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        updateAttributes(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -240,7 +303,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        updateAttributes(fileStore);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -277,7 +340,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
         NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
-        netInterface.updateAttributes();
+        updateAttributes(netInterface);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -337,7 +400,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
         PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        updateAttributes(powerSource);
         double remainingTimeInSeconds = powerSource.getTimeRemainingEstimated();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -347,7 +410,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
         PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        updateAttributes(powerSource);
         double remainingCapacity = powerSource.getRemainingCapacityPercent();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -523,12 +586,26 @@ public class OSHISysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        double processorLoads[] = getSystemLoadAverage(index + 1);
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
     }
 
+    private double[] getSystemLoadAverage(int count) {
+        Snapshot snapshot = snapshots.get();
+        if (snapshot == null) {
+            return cpu.getSystemLoadAverage(count);
+        }
+        // all three averages are read at once, so the load channels share one query
+        double[] loadAverages = snapshot.loadAverages;
+        if (loadAverages == null) {
+            loadAverages = cpu.getSystemLoadAverage(3);
+            snapshot.loadAverages = loadAverages;
+        }
+        return loadAverages;
+    }
+
     @Override
     public DecimalType getCpuUptime() {
         long seconds = operatingSystem.getSystemUptime();
@@ -551,7 +628,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
@@ -559,7 +636,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
@@ -567,7 +644,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
@@ -575,7 +652,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -31,6 +31,17 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Starts a snapshot for the calling thread. Until {@link #endSnapshot()} is called, the information of every
+     * device and process is read at most once and all calls are answered from these values.
+     */
+    public void beginSnapshot();
+
+    /**
+     * Ends the snapshot of the calling thread. Afterwards every call reads the current information again.
+     */
+    public void endSnapshot();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -99,6 +99,10 @@ class HomekitAccessoryRegistry {
         }
     }
 
+    public synchronized @Nullable HomekitAccessory getAccessory(String itemName) {
+        return createdAccessories.get(itemName);
+    }
+
     public Map<String, HomekitAccessory> getAllAccessories() {
         return this.createdAccessories;
     }
@@ -12,10 +12,19 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.StateChangeListener;
@@ -31,11 +40,20 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Item changes are not notified right away, but collected for a short delay and notified together. A characteristic
+ * that changes several times within the delay is notified only once, with its latest value.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
+    private static final int NOTIFICATION_DELAY = 50; // in ms
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+    // pending notifications in order of their first change, guarded by itself
+    private final Map<ItemKey, HomekitCharacteristicChangeCallback> pendingNotifications = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> notificationJob;
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -57,7 +75,7 @@ public class HomekitAccessoryUpdater {
                 unsubscribe(item, key);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = (changedItem, oldState, newState) -> notifyLater(itemKey, callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -74,10 +92,39 @@ public class HomekitAccessoryUpdater {
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             logger.trace("Removing existing subscription for {} / {}", item, key);
             item.removeStateChangeListener(v);
+            synchronized (pendingNotifications) {
+                pendingNotifications.remove(k);
+            }
             return null;
         });
     }
 
+    private void notifyLater(ItemKey itemKey, HomekitCharacteristicChangeCallback callback) {
+        synchronized (pendingNotifications) {
+            pendingNotifications.put(itemKey, callback);
+            if (notificationJob == null) {
+                notificationJob = scheduler.schedule(this::notifyPending, NOTIFICATION_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void notifyPending() {
+        final List<HomekitCharacteristicChangeCallback> callbacks;
+        synchronized (pendingNotifications) {
+            callbacks = new ArrayList<>(pendingNotifications.values());
+            pendingNotifications.clear();
+            notificationJob = null;
+        }
+        logger.trace("Notifying {} changed characteristics", callbacks.size());
+        for (HomekitCharacteristicChangeCallback callback : callbacks) {
+            try {
+                callback.changed();
+            } catch (RuntimeException e) {
+                logger.warn("Could not notify HomeKit clients about a changed characteristic", e);
+            }
+        }
+    }
+
     @FunctionalInterface
     @NonNullByDefault
     private interface Subscription extends StateChangeListener {
@@ -14,6 +14,7 @@ package org.openhab.io.homekit.internal;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.items.GroupItem;
@@ -118,7 +120,8 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         };
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
-        itemRegistry.getItems().forEach(this::createRootAccessories);
+        itemRegistry.getItems().forEach(item -> createRootAccessories(item)
+                .forEach(accessory -> accessoryRegistry.addRootAccessory(item.getName(), accessory)));
         initialiseRevision();
         logger.info("Created {} HomeKit items.", accessoryRegistry.getAllAccessories().size());
     }
@@ -199,17 +202,40 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage.put(ACCESSORY_COUNT, "" + lastAccessoryCount);
     }
 
+    /**
+     * Rebuilds the accessories of the dirty items. An accessory is only replaced if it has changed, and a new
+     * configuration revision is only made if the structure of an accessory has changed. A new revision makes every
+     * paired client download the whole accessory database again, which is not necessary if e.g. only the item
+     * instance has been replaced.
+     */
     private synchronized void applyUpdates() {
         logger.trace("apply updates");
+        boolean structureChanged = false;
         for (final String name : pendingUpdates) {
+            final @Nullable HomekitAccessory oldAccessory = accessoryRegistry.getAccessory(name);
+            final List<HomekitAccessory> newAccessories = getItemOptional(name).map(this::createRootAccessories)
+                    .orElse(List.of());
+            if (oldAccessory != null && newAccessories.size() == 1 && HomekitAccessoryFactory
+                    .getStructureFingerprint(oldAccessory).equals(HomekitAccessoryFactory
+                            .getStructureFingerprint(newAccessories.get(0)))) {
+                if (HomekitAccessoryFactory.isLinkedToRegistryItems(oldAccessory, itemRegistry)) {
+                    logger.trace(" keep unchanged accessory {}", name);
+                    continue;
+                }
+            } else if (oldAccessory != null || !newAccessories.isEmpty()) {
+                structureChanged = true;
+            }
             accessoryRegistry.remove(name);
             logger.trace(" add items {}", name);
-            getItemOptional(name).ifPresent(this::createRootAccessories);
+            newAccessories.forEach(accessory -> accessoryRegistry.addRootAccessory(name, accessory));
         }
-        if (!pendingUpdates.isEmpty()) {
+        if (structureChanged) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
+        } else if (!pendingUpdates.isEmpty()) {
+            logger.debug("HomeKit accessories are structurally unchanged, keeping configuration revision {}",
+                    accessoryRegistry.getConfigurationRevision());
         }
+        pendingUpdates.clear();
     }
 
     @Override
@@ -280,26 +306,30 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * Switch light "Light" (gLight) {homekit="Lighting.OnState"}
      *
      * @param item openHAB item
+     * @return the created accessories, not yet added to the accessory registry
      */
-    private void createRootAccessories(Item item) {
+    private List<HomekitAccessory> createRootAccessories(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
+        final List<HomekitAccessory> accessories = new ArrayList<>();
         if (!accessoryTypes.isEmpty()
                 && (groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null))) {
             logger.trace("Item {} is a HomeKit accessory of types {}", item.getName(), accessoryTypes);
             final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item);
             accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
-                    rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry))));
+                    rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry)))
+                            .ifPresent(accessories::add));
         }
+        return accessories;
     }
 
-    private void createRootAccessory(HomekitTaggedItem taggedItem) {
+    private Optional<HomekitAccessory> createRootAccessory(HomekitTaggedItem taggedItem) {
         try {
-            accessoryRegistry.addRootAccessory(taggedItem.getName(),
-                    HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings));
+            return Optional.of(HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings));
         } catch (HomekitException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
+            return Optional.empty();
         }
     }
 }
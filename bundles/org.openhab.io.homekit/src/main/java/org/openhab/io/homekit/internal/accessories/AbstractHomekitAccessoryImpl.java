@@ -16,6 +16,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -117,6 +118,15 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
         return this.services;
     }
 
+    /**
+     * return the characteristics of this accessory, i.e. the tagged items the accessory reads its values from.
+     *
+     * @return list of characteristics
+     */
+    public List<HomekitTaggedItem> getCharacteristics() {
+        return Collections.unmodifiableList(characteristics);
+    }
+
     protected HomekitAccessoryUpdater getUpdater() {
         return updater;
     }
@@ -169,6 +169,58 @@ public class HomekitAccessoryFactory {
         }
     }
 
+    /**
+     * return a fingerprint of the structure of an accessory, i.e. of everything HomeKit clients download with the
+     * accessory database: the accessory id and name, the services and their characteristics and the item
+     * configuration the characteristics are derived from. The current values of the characteristics are not part of
+     * the fingerprint. Two accessories with equal fingerprints look the same to HomeKit clients.
+     *
+     * @param accessory HomeKit accessory
+     * @return fingerprint, to be compared with equals()
+     */
+    public static List<Object> getStructureFingerprint(HomekitAccessory accessory) {
+        final List<Object> fingerprint = new ArrayList<>();
+        fingerprint.add(accessory.getId());
+        fingerprint.add(accessory.getName().getNow(""));
+        for (Service service : accessory.getServices()) {
+            fingerprint.add(service.getType());
+            for (Characteristic characteristic : service.getCharacteristics()) {
+                fingerprint.add(characteristic.getClass().getName());
+            }
+        }
+        if (accessory instanceof AbstractHomekitAccessoryImpl) {
+            final AbstractHomekitAccessoryImpl accessoryImpl = (AbstractHomekitAccessoryImpl) accessory;
+            addStructureFingerprint(fingerprint, accessoryImpl.getRootAccessory());
+            accessoryImpl.getCharacteristics().forEach(c -> addStructureFingerprint(fingerprint, c));
+        }
+        return fingerprint;
+    }
+
+    private static void addStructureFingerprint(List<Object> fingerprint, HomekitTaggedItem taggedItem) {
+        fingerprint.add(taggedItem.getName());
+        fingerprint.add(taggedItem.getAccessoryType());
+        fingerprint.add(taggedItem.getCharacteristicType());
+        final @Nullable Map<String, Object> configuration = taggedItem.getConfiguration();
+        fingerprint.add(configuration != null ? configuration : Collections.emptyMap());
+    }
+
+    /**
+     * check whether an accessory is still linked to the items of the item registry. Items are replaced in the registry
+     * when they are updated, an accessory that still refers to the replaced item would not reflect its state anymore.
+     *
+     * @param accessory HomeKit accessory
+     * @param itemRegistry item registry
+     * @return true if all items of the accessory are the current items of the registry
+     */
+    public static boolean isLinkedToRegistryItems(HomekitAccessory accessory, ItemRegistry itemRegistry) {
+        if (!(accessory instanceof AbstractHomekitAccessoryImpl)) {
+            return false;
+        }
+        final AbstractHomekitAccessoryImpl accessoryImpl = (AbstractHomekitAccessoryImpl) accessory;
+        return Stream.concat(Stream.of(accessoryImpl.getRootAccessory()), accessoryImpl.getCharacteristics().stream())
+                .map(HomekitTaggedItem::getItem).allMatch(item -> item == itemRegistry.get(item.getName()));
+    }
+
     /**
      * return HomeKit accessory types for a OH item based on meta data
      * 
@@ -14,6 +14,7 @@ package org.openhab.io.hueemulation.internal;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.IllegalFormatException;
 import java.util.LinkedHashSet;
@@ -99,6 +100,21 @@ public class ConfigStore {
             .registerTypeAdapter(HueSuccessResponseStateChanged.class, new HueSuccessResponseStateChanged.Serializer())
             .registerTypeAdapter(HueGroupEntry.class, new HueGroupEntry.Serializer(this)).create();
 
+    /**
+     * The serialized lights, re-serialized only for lights whose item state, label or last command has changed.
+     * Hue clients like Alexa or the Harmony hub poll the lights very frequently.
+     */
+    public final JsonFragmentCache<HueLightEntry> lightsJson = new JsonFragmentCache<>(gson,
+            light -> Arrays.asList(light.item, light.item.getState(), light.item.getLabel(), light.name,
+                    light.lastCommand, light.lastHueChange));
+
+    /**
+     * The serialized groups, re-serialized only for groups whose item, members or action have changed.
+     */
+    public final JsonFragmentCache<HueGroupEntry> groupsJson = new JsonFragmentCache<>(gson,
+            group -> Arrays.asList(group.groupItem, group.groupItem != null ? group.groupItem.getMembers() : null,
+                    group.name, group.type, group.roomclass, group.action, group.lights, group.sensors));
+
     @Reference
     protected @NonNullByDefault({}) ConfigurationAdmin configAdmin;
 
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Caches the serialized json of the entries of a hue data store map, like the lights or the groups.
+ * <p>
+ * Every entry is serialized on its own and only again if its fingerprint changes. The fingerprint consists of
+ * everything the custom serializer of an entry derives its output from, like the item state or the label. The json
+ * of the whole map is kept as well and served as is, as long as no entry has been added, removed or changed.
+ * Every time the json of the whole map changes, the version of this cache advances.
+ * <p>
+ * Changes to an entry which are not covered by the fingerprint must be announced with {@link #invalidate(String)}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class JsonFragmentCache<T> {
+
+    private static class Fragment {
+        final Object entry;
+        final Object fingerprint;
+        final String json;
+
+        Fragment(Object entry, Object fingerprint, String json) {
+            this.entry = entry;
+            this.fingerprint = fingerprint;
+            this.json = json;
+        }
+    }
+
+    private final Gson gson;
+    private final Function<T, Object> fingerprint;
+    private final Map<String, Fragment> fragments = new HashMap<>();
+
+    private @Nullable String json;
+    private byte @Nullable [] jsonBytes;
+    private long version;
+
+    /**
+     * @param gson The gson instance to serialize the entries with
+     * @param fingerprint Computes the fingerprint of an entry. Two fingerprints are compared with equals().
+     */
+    public JsonFragmentCache(Gson gson, Function<T, Object> fingerprint) {
+        this.gson = gson;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns the json of the given map, re-serializing only the entries that have changed since the last call.
+     *
+     * @param entries The map to serialize. Must be the same map for every call, like the lights of the data store.
+     */
+    public synchronized String toJson(Map<String, T> entries) {
+        boolean changed = false;
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            changed |= update(entry.getKey(), entry.getValue()) != null;
+        }
+        if (fragments.size() != entries.size()) {
+            fragments.keySet().retainAll(entries.keySet());
+            changed = true;
+        }
+
+        String json = this.json;
+        if (json == null || changed) {
+            StringBuilder builder = new StringBuilder("{");
+            for (String id : entries.keySet()) {
+                Fragment fragment = fragments.get(id);
+                if (fragment != null) {
+                    if (builder.length() > 1) {
+                        builder.append(',');
+                    }
+                    builder.append(gson.toJson(id)).append(':').append(fragment.json);
+                }
+            }
+            json = builder.append('}').toString();
+            this.json = json;
+            this.jsonBytes = null;
+            version++;
+        }
+        return json;
+    }
+
+    /**
+     * Returns the UTF-8 encoded json of the given map, see {@link #toJson(Map)}.
+     */
+    public synchronized byte[] toJsonBytes(Map<String, T> entries) {
+        String json = toJson(entries);
+        byte[] jsonBytes = this.jsonBytes;
+        if (jsonBytes == null) {
+            jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+            this.jsonBytes = jsonBytes;
+        }
+        return jsonBytes;
+    }
+
+    /**
+     * Returns the json of a single entry, re-serializing it only if it has changed.
+     *
+     * @param id The id of the entry
+     * @param entry The entry, may be null
+     */
+    public synchronized String toJson(String id, @Nullable T entry) {
+        if (entry == null) {
+            return gson.toJson(null);
+        }
+        Fragment fragment = update(id, entry);
+        if (fragment != null) {
+            // the json of the whole map is outdated now
+            json = null;
+            return fragment.json;
+        }
+        Fragment cached = fragments.get(id);
+        return cached != null ? cached.json : gson.toJson(entry);
+    }
+
+    /**
+     * Discards the cached json of the given entry, because it has changed in a way the fingerprint does not reflect.
+     *
+     * @param id The id of the entry
+     */
+    public synchronized void invalidate(String id) {
+        if (fragments.remove(id) != null) {
+            json = null;
+        }
+    }
+
+    /**
+     * Returns the version of the json of the whole map. It advances with every change of an entry.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Serializes the given entry, if it is new or its fingerprint has changed.
+     *
+     * @return The new fragment or null if the cached one is still valid
+     */
+    private @Nullable Fragment update(String id, T entry) {
+        // The fingerprint has to be computed before serializing, the custom serializers may alter the entry
+        Object currentFingerprint = fingerprint.apply(entry);
+        Fragment fragment = fragments.get(id);
+        if (fragment != null && fragment.entry == entry && fragment.fingerprint.equals(currentFingerprint)) {
+            return null;
+        }
+        fragment = new Fragment(entry, currentFingerprint, gson.toJson(entry));
+        fragments.put(id, fragment);
+        return fragment;
+    }
+}
@@ -29,6 +29,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.HueEmulationService;
 import org.openhab.io.hueemulation.internal.NetworkUtils;
+import org.openhab.io.hueemulation.internal.dto.HueDataStore;
 import org.openhab.io.hueemulation.internal.dto.HueUnauthorizedConfig;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueChangeRequest;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse;
@@ -83,7 +84,25 @@ public class ConfigurationAccess {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds)).build();
+        return Response.ok(getAllJson()).build();
+    }
+
+    /**
+     * Serializes the data store like gson would, but takes the lights and groups from their caches. Those make up
+     * most of the data store and are polled frequently. The field order follows {@link HueDataStore}.
+     */
+    private String getAllJson() {
+        HueDataStore ds = cs.ds;
+        return new StringBuilder("{\"config\":").append(cs.gson.toJson(ds.config)) //
+                .append(",\"lights\":").append(cs.lightsJson.toJson(ds.lights)) //
+                .append(",\"groups\":").append(cs.groupsJson.toJson(ds.groups)) //
+                .append(",\"scenes\":").append(cs.gson.toJson(ds.scenes)) //
+                .append(",\"rules\":").append(cs.gson.toJson(ds.rules)) //
+                .append(",\"sensors\":").append(cs.gson.toJson(ds.sensors)) //
+                .append(",\"schedules\":").append(cs.gson.toJson(ds.schedules)) //
+                .append(",\"resourcelinks\":").append(cs.gson.toJson(ds.resourcelinks)) //
+                .append(",\"capabilities\":").append(cs.gson.toJson(ds.capabilities)) //
+                .append('}').toString();
     }
 
     @GET
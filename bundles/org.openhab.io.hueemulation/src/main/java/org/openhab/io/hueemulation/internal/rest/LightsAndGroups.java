@@ -252,7 +252,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return Response.ok(cs.lightsJson.toJsonBytes(cs.ds.lights)).build();
     }
 
     @GET
@@ -288,7 +288,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        return Response.ok(cs.lightsJson.toJson(id, cs.ds.lights.get(id))).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -384,6 +384,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             hueDevice.lastCommand = command;
             hueDevice.lastHueChange = newState;
         }
+        cs.lightsJson.invalidate(id);
 
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
         }.getType())).build();
@@ -430,6 +431,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
                 logger.warn("No event publisher. Cannot post item '{}' command!", groupItem.getUID());
             }
         }
+        // The action has been altered in place
+        cs.groupsJson.invalidate(id);
 
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
         }.getType())).build();
@@ -443,7 +446,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return Response.ok(cs.groupsJson.toJsonBytes(cs.ds.groups)).build();
     }
 
     @GET
@@ -455,7 +458,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups.get(id))).build();
+        return Response.ok(cs.groupsJson.toJson(id, cs.ds.groups.get(id))).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -335,6 +335,33 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsServedFromCacheUntilChanged() {
+        String body = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get()
+                .readEntity(String.class);
+        long version = cs.lightsJson.getVersion();
+
+        // Unchanged lights are served from the cache
+        assertThat(commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get()
+                .readEntity(String.class), is(body));
+        assertThat(cs.lightsJson.getVersion(), is(version));
+
+        // A changed item state is picked up
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+        String changedBody = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get()
+                .readEntity(String.class);
+        assertThat(changedBody, is(not(body)));
+        assertThat(changedBody, containsString("\"on\":true"));
+        assertThat(cs.lightsJson.getVersion(), is(version + 1));
+
+        // A removed light is picked up
+        cs.ds.lights.remove("3");
+        body = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get()
+                .readEntity(String.class);
+        assertThat(body, not(containsString("\"3\":")));
+        assertThat(cs.lightsJson.getVersion(), is(version + 2));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
@@ -12,6 +12,7 @@
  */
 package org.openhab.io.openhabcloud.internal;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -19,12 +20,16 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
@@ -37,6 +42,7 @@ import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
@@ -65,6 +71,28 @@ import io.socket.engineio.client.Transport;
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
 public class CloudClient {
+
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Response content is collected up to this size before it is sent to the openHAB Cloud
+     */
+    private static final int RESPONSE_FRAME_SIZE = 64 * 1024;
+
+    /*
+     * Collected response content is sent at the latest after this time in milliseconds
+     */
+    private static final long RESPONSE_FLUSH_TIMEOUT = 50;
+
+    /*
+     * The maximum number of proxied requests which are running against the local openHAB at the same time,
+     * further requests are queued up to the given limit and rejected beyond. Event streams give up their slot as soon
+     * as their headers have arrived, as they do not complete. This limits the number of requests only, the content
+     * which has been emitted to the socket but not sent yet is not limited.
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 32;
+    private static final int MAX_QUEUED_REQUESTS = 256;
+
     /*
      * Logger for this class
      */
@@ -100,6 +128,16 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This queue holds requests to local openHAB which wait for a free slot in the request window, guarded by itself
+     */
+    private final Deque<ResponseListener> queuedRequests = new ArrayDeque<>();
+
+    /*
+     * This variable holds the number of requests to local openHAB which have been sent, guarded by queuedRequests
+     */
+    private int activeRequests;
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -129,6 +167,11 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the item updates which are waiting to be sent to the openHAB Cloud
+     */
+    private final ItemUpdateCoalescer itemUpdates;
+
     /**
      * Constructor of CloudClient
      *
@@ -136,9 +179,11 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateWindow Time in milliseconds item updates are collected before they are sent
+     * @param itemUpdateMinInterval Minimum time in milliseconds between two updates of the same item
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, long itemUpdateWindow, long itemUpdateMinInterval) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -146,6 +191,8 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.itemUpdates = new ItemUpdateCoalescer(ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD),
+                this::emitItemUpdate, itemUpdateWindow, itemUpdateMinInterval);
     }
 
     /**
@@ -244,6 +291,9 @@ public class CloudClient {
         isConnected = false;
         // And clean up the list of running requests
         runningRequests.clear();
+        synchronized (queuedRequests) {
+            queuedRequests.clear();
+        }
     }
 
     /**
@@ -332,16 +382,65 @@ public class CloudClient {
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
+            ResponseListener listener = new ResponseListener(requestId, request,
+                    acceptsGzip(requestHeadersJson));
+            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener);
+            // Add it to the list of currently running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
+            submitRequest(listener);
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
     }
 
+    /**
+     * Sends the request of the given listener to local openHAB, if the request window has room for it. Otherwise the
+     * request is queued until a running request completes, or rejected if the queue is full.
+     */
+    private void submitRequest(ResponseListener listener) {
+        synchronized (queuedRequests) {
+            if (activeRequests >= MAX_CONCURRENT_REQUESTS) {
+                if (queuedRequests.size() < MAX_QUEUED_REQUESTS) {
+                    logger.debug("Request window is full, queueing request {}", listener.mRequestId);
+                    queuedRequests.add(listener);
+                } else {
+                    logger.debug("Request queue is full, rejecting request {}", listener.mRequestId);
+                    runningRequests.remove(listener.mRequestId);
+                    listener.sendError("openHAB Cloud connector is overloaded");
+                }
+                return;
+            }
+            activeRequests++;
+        }
+        listener.mRequest.send(listener);
+    }
+
+    /**
+     * Sends the next queued request, called whenever a request to local openHAB has completed.
+     */
+    private void requestCompleted() {
+        ResponseListener next;
+        synchronized (queuedRequests) {
+            next = queuedRequests.poll();
+            if (next == null) {
+                activeRequests--;
+                return;
+            }
+        }
+        next.mRequest.send(next);
+    }
+
+    private boolean acceptsGzip(JSONObject requestHeadersJson) {
+        Iterator<String> headersIterator = requestHeadersJson.keys();
+        while (headersIterator.hasNext()) {
+            String headerName = headersIterator.next();
+            if (HttpHeader.ACCEPT_ENCODING.is(headerName)) {
+                return requestHeadersJson.optString(headerName).toLowerCase().contains("gzip");
+            }
+        }
+        return false;
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -367,6 +466,9 @@ public class CloudClient {
             // Find and abort running request
             Request request = runningRequests.get(requestId);
             if (request != null) {
+                synchronized (queuedRequests) {
+                    queuedRequests.removeIf(listener -> listener.mRequest == request);
+                }
                 request.abort(new InterruptedException());
                 runningRequests.remove(requestId);
             }
@@ -463,13 +565,18 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are coalesced and throttled per item, see
+     * {@link ItemUpdateCoalescer}.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        itemUpdates.update(itemName, itemState);
+    }
+
+    private boolean emitItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -477,12 +584,14 @@ public class CloudClient {
                 itemUpdateMessage.put("itemName", itemName);
                 itemUpdateMessage.put("itemStatus", itemState);
                 socket.emit("itemupdate", itemUpdateMessage);
+                return true;
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
         } else {
             logger.debug("No connection, Item update is not sent");
         }
+        return false;
     }
 
     /**
@@ -497,6 +606,8 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        itemUpdates.clear();
+        logger.debug("Item updates: {}", itemUpdates.getStatistics());
         socket.disconnect();
     }
 
@@ -513,31 +624,63 @@ public class CloudClient {
     }
 
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     * Response content is collected into frames of up to RESPONSE_FRAME_SIZE bytes, which are sent when full or
+     * after RESPONSE_FLUSH_TIMEOUT. Compressible responses are gzip compressed, if the client accepts it.
      */
     private class ResponseListener
             implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
-        private int mRequestId;
+        private final int mRequestId;
+        private final Request mRequest;
+        private final boolean mAcceptsGzip;
         private boolean mHeadersSent = false;
+        private boolean mSlotReleased = false;
+        private final ByteArrayOutputStream mContentBuffer = new ByteArrayOutputStream();
+        private @Nullable GZIPOutputStream mGzipStream;
+        private @Nullable ScheduledFuture<?> mFlushJob;
 
-        public ResponseListener(int requestId) {
+        public ResponseListener(int requestId, Request request, boolean acceptsGzip) {
             mRequestId = requestId;
+            mRequest = request;
+            mAcceptsGzip = acceptsGzip;
         }
 
-        private JSONObject getJSONHeaders(HttpFields httpFields) {
+        private JSONObject getJSONHeaders(HttpFields httpFields, boolean compressed) {
             JSONObject headersJSON = new JSONObject();
             try {
                 for (HttpField field : httpFields) {
+                    if (compressed && field.getHeader() == HttpHeader.CONTENT_LENGTH) {
+                        continue;
+                    }
                     headersJSON.put(field.getName(), field.getValue());
                 }
+                if (compressed) {
+                    headersJSON.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+                }
             } catch (JSONException e) {
                 logger.warn("Error forming response headers: {}", e.getMessage());
             }
             return headersJSON;
         }
 
+        private boolean isCompressible(Response response) {
+            if (!mAcceptsGzip || response.getHeaders().containsKey(HttpHeader.CONTENT_ENCODING.asString())
+                    || response.getStatus() == HttpStatus.NO_CONTENT_204
+                    || response.getStatus() == HttpStatus.NOT_MODIFIED_304) {
+                return false;
+            }
+            String contentType = response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+            if (contentType == null) {
+                return false;
+            }
+            contentType = contentType.toLowerCase();
+            // event streams are never compressed, they must be forwarded as they come
+            return !contentType.startsWith("text/event-stream") && (contentType.startsWith("text/")
+                    || contentType.contains("json") || contentType.contains("javascript")
+                    || contentType.contains("xml"));
+        }
+
         @Override
         public void onComplete(Result result) {
             // Remove this request from list of running requests
@@ -554,6 +697,8 @@ public class CloudClient {
                     logger.warn("Response Failure: {}", result.getResponseFailure().getMessage());
                 }
             }
+            finishContent();
+            releaseSlot();
 
             /**
              * What is this? In some cases where latency is very low the myopenhab service
@@ -572,12 +717,29 @@ public class CloudClient {
             }, 1, TimeUnit.MILLISECONDS);
         }
 
+        /*
+         * Gives the slot of this request in the request window to the next queued request, at most once
+         */
+        private void releaseSlot() {
+            synchronized (this) {
+                if (mSlotReleased) {
+                    return;
+                }
+                mSlotReleased = true;
+            }
+            requestCompleted();
+        }
+
         @Override
         public synchronized void onFailure(Request request, Throwable failure) {
+            sendError("openHAB connection error: " + failure.getMessage());
+        }
+
+        private void sendError(String statusText) {
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("responseStatusText", "openHAB connection error: " + failure.getMessage());
+                responseJson.put("responseStatusText", statusText);
                 socket.emit("responseError", responseJson);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
@@ -585,28 +747,97 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public synchronized void onContent(Response response, ByteBuffer content) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+            try {
+                GZIPOutputStream gzipStream = mGzipStream;
+                if (gzipStream != null) {
+                    gzipStream.write(BufferUtil.toArray(content));
+                } else {
+                    BufferUtil.writeTo(content, mContentBuffer);
+                }
+            } catch (IOException e) {
+                logger.debug("{}", e.getMessage());
+            }
+            if (mContentBuffer.size() >= RESPONSE_FRAME_SIZE) {
+                sendContent();
+            } else if (mFlushJob == null) {
+                mFlushJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(this::flushContent,
+                        RESPONSE_FLUSH_TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /*
+         * Sends all content received so far, called when the flush timeout expires
+         */
+        private synchronized void flushContent() {
+            mFlushJob = null;
+            GZIPOutputStream gzipStream = mGzipStream;
+            if (gzipStream != null) {
+                try {
+                    gzipStream.flush();
+                } catch (IOException e) {
+                    logger.debug("{}", e.getMessage());
+                }
+            }
+            sendContent();
+        }
+
+        /*
+         * Sends the remaining content at the end of the response
+         */
+        private synchronized void finishContent() {
+            GZIPOutputStream gzipStream = mGzipStream;
+            if (gzipStream != null) {
+                try {
+                    gzipStream.close();
+                } catch (IOException e) {
+                    logger.debug("{}", e.getMessage());
+                }
+                mGzipStream = null;
+            }
+            sendContent();
+        }
+
+        private void sendContent() {
+            ScheduledFuture<?> flushJob = mFlushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                mFlushJob = null;
+            }
+            if (mContentBuffer.size() == 0) {
+                return;
+            }
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", mContentBuffer.toByteArray());
                 socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
+                logger.debug("Sent {} bytes of content to request {}", mContentBuffer.size(), mRequestId);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
+            mContentBuffer.reset();
         }
 
         @Override
-        public void onHeaders(Response response) {
+        public synchronized void onHeaders(Response response) {
             if (!mHeadersSent) {
                 logger.debug("Jetty finished receiving response header");
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
+                boolean compressed = isCompressible(response);
+                if (compressed) {
+                    try {
+                        mGzipStream = new GZIPOutputStream(mContentBuffer, true);
+                    } catch (IOException e) {
+                        logger.debug("Cannot compress response to request {}: {}", mRequestId, e.getMessage());
+                        compressed = false;
+                    }
+                }
                 try {
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", getJSONHeaders(response.getHeaders(), compressed));
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
@@ -615,7 +846,16 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
+                if (isEventStream(response)) {
+                    // event streams run until they are cancelled, so they must not block the request window
+                    releaseSlot();
+                }
             }
         }
+
+        private boolean isEventStream(Response response) {
+            String contentType = response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+            return contentType != null && contentType.toLowerCase().startsWith("text/event-stream");
+        }
     }
 }
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class collects item updates before they are sent to the openHAB Cloud.
+ *
+ * Updates are held back for the configured window and sent together when it expires. If an item is updated more
+ * than once within the window, only its last state is sent. Items which are updated more often than the configured
+ * minimum interval are throttled: their latest state is kept until the interval has passed since the last update
+ * that was sent for them.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateCoalescer {
+
+    /**
+     * Sends a single item update to the openHAB Cloud.
+     */
+    @FunctionalInterface
+    public interface Sender {
+        /**
+         * @param itemName the name of the item
+         * @param itemState the state to send
+         * @return true if the update has been sent, false if it had to be dropped
+         */
+        boolean send(String itemName, String itemState);
+    }
+
+    /*
+     * The flush delays are rounded up to whole milliseconds
+     */
+    private static final long ROUNDING_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateCoalescer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Sender sender;
+    private final long windowMillis;
+    private final long minIntervalNanos;
+
+    /*
+     * The pending item states in order of their first update, guarded by this
+     */
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+
+    /*
+     * The time the last update has been sent for each item, guarded by this
+     */
+    private final Map<String, Long> lastSent = new HashMap<>();
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /*
+     * The time the scheduled flush job runs, guarded by this
+     */
+    private long flushDue;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param scheduler the scheduler to run the flushes on
+     * @param sender the sender for the item updates
+     * @param windowMillis the time in milliseconds updates are collected before they are sent, 0 sends them as soon
+     *            as possible
+     * @param minIntervalMillis the minimum time in milliseconds between two updates of the same item, 0 for no limit
+     */
+    public ItemUpdateCoalescer(ScheduledExecutorService scheduler, Sender sender, long windowMillis,
+            long minIntervalMillis) {
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minIntervalMillis));
+    }
+
+    /**
+     * Queues an item update. Any update of the same item which has not been sent yet is replaced.
+     *
+     * @param itemName the name of the item
+     * @param itemState the updated item state
+     */
+    public void update(String itemName, String itemState) {
+        received.incrementAndGet();
+        if (windowMillis == 0 && minIntervalNanos == 0) {
+            send(itemName, itemState);
+            return;
+        }
+        synchronized (this) {
+            if (pendingUpdates.put(itemName, itemState) != null) {
+                coalesced.incrementAndGet();
+            }
+            long now = System.nanoTime();
+            Long lastSentTime = lastSent.get(itemName);
+            long due = now + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+            if (lastSentTime != null && lastSentTime + minIntervalNanos - due > 0) {
+                due = lastSentTime + minIntervalNanos;
+            }
+            ScheduledFuture<?> job = flushJob;
+            if (job == null) {
+                scheduleFlush(due - now, now);
+            } else if (flushDue - due >= ROUNDING_NANOS) {
+                // the pending flush waits for a throttled item, don't hold back this update until then
+                job.cancel(false);
+                scheduleFlush(due - now, now);
+            }
+        }
+    }
+
+    /**
+     * Discards all pending updates and stops the scheduled flush.
+     */
+    public synchronized void clear() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        dropped.addAndGet(pendingUpdates.size());
+        pendingUpdates.clear();
+        lastSent.clear();
+    }
+
+    /**
+     * Returns a summary of the item update statistics since this instance has been created.
+     */
+    public String getStatistics() {
+        int pending;
+        synchronized (this) {
+            pending = pendingUpdates.size();
+        }
+        return String.format("%d received, %d sent, %d coalesced, %d dropped, %d pending", received.get(), sent.get(),
+                coalesced.get(), dropped.get(), pending);
+    }
+
+    private void flush() {
+        List<Entry<String, String>> updates = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            long nextDue = Long.MAX_VALUE;
+            Iterator<Entry<String, String>> iterator = pendingUpdates.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<String, String> update = iterator.next();
+                Long lastSentTime = lastSent.get(update.getKey());
+                long due = lastSentTime == null ? now : lastSentTime + minIntervalNanos;
+                if (due - now <= 0) {
+                    updates.add(Map.entry(update.getKey(), update.getValue()));
+                    lastSent.put(update.getKey(), now);
+                    iterator.remove();
+                } else {
+                    nextDue = Math.min(nextDue, due - now);
+                }
+            }
+            if (pendingUpdates.isEmpty()) {
+                flushJob = null;
+            } else {
+                scheduleFlush(Math.max(nextDue, TimeUnit.MILLISECONDS.toNanos(windowMillis)), now);
+            }
+        }
+
+        for (Entry<String, String> update : updates) {
+            send(update.getKey(), update.getValue());
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Flushed {} item updates to the openHAB Cloud ({})", updates.size(), getStatistics());
+        }
+    }
+
+    private synchronized void scheduleFlush(long delayNanos, long now) {
+        // round up, so that the throttled items are due when the flush runs
+        long delay = TimeUnit.NANOSECONDS.toMillis(delayNanos + ROUNDING_NANOS - 1);
+        flushDue = now + TimeUnit.MILLISECONDS.toNanos(delay);
+        flushJob = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void send(String itemName, String itemState) {
+        if (sender.send(itemName, itemState)) {
+            sent.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ItemUpdateCoalescer}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ItemUpdateCoalescerTest {
+
+    private final List<String> sentUpdates = new ArrayList<>();
+    private final List<Runnable> scheduledFlushes = new ArrayList<>();
+    private final List<Long> scheduledDelays = new ArrayList<>();
+    private final List<ScheduledFuture<?>> scheduledFutures = new ArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void initialize() {
+        scheduler = mock(ScheduledExecutorService.class);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation -> {
+            scheduledFlushes.add(invocation.getArgument(0));
+            scheduledDelays.add(invocation.getArgument(1));
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            scheduledFutures.add(future);
+            return future;
+        });
+    }
+
+    @Test
+    public void updatesAreSentImmediatelyWithoutWindowAndInterval() {
+        ItemUpdateCoalescer coalescer = createCoalescer(0, 0);
+
+        coalescer.update("Light", "ON");
+        coalescer.update("Light", "OFF");
+
+        assertEquals(List.of("Light=ON", "Light=OFF"), sentUpdates);
+        assertTrue(scheduledFlushes.isEmpty());
+    }
+
+    @Test
+    public void updatesAreSentWhenWindowExpires() {
+        ItemUpdateCoalescer coalescer = createCoalescer(250, 0);
+
+        coalescer.update("Light", "ON");
+
+        assertTrue(sentUpdates.isEmpty());
+        assertEquals(List.of(250L), scheduledDelays);
+
+        runScheduledFlush();
+
+        assertEquals(List.of("Light=ON"), sentUpdates);
+    }
+
+    @Test
+    public void lastStateWinsWithinWindow() {
+        ItemUpdateCoalescer coalescer = createCoalescer(250, 0);
+
+        coalescer.update("Light", "ON");
+        coalescer.update("Light", "OFF");
+        coalescer.update("Light", "ON");
+        runScheduledFlush();
+
+        assertEquals(List.of("Light=ON"), sentUpdates);
+        assertEquals(1, scheduledFlushes.size());
+    }
+
+    @Test
+    public void distinctItemsArePreservedInOrderOfTheirFirstUpdate() {
+        ItemUpdateCoalescer coalescer = createCoalescer(250, 0);
+
+        coalescer.update("Light", "ON");
+        coalescer.update("Dimmer", "50");
+        coalescer.update("Light", "OFF");
+        coalescer.update("Switch", "ON");
+        runScheduledFlush();
+
+        assertEquals(List.of("Light=OFF", "Dimmer=50", "Switch=ON"), sentUpdates);
+    }
+
+    @Test
+    public void itemsAreThrottledToTheirLatestState() {
+        ItemUpdateCoalescer coalescer = createCoalescer(10, 60000);
+
+        coalescer.update("Power", "100");
+        runScheduledFlush();
+        coalescer.update("Power", "110");
+        runScheduledFlush();
+        coalescer.update("Power", "120");
+
+        assertEquals(List.of("Power=100"), sentUpdates);
+        // the throttled update is sent when the interval has passed
+        assertTrue(scheduledDelays.get(scheduledDelays.size() - 1) > 50000);
+    }
+
+    @Test
+    public void updatesAreNotHeldBackByThrottledItems() {
+        ItemUpdateCoalescer coalescer = createCoalescer(10, 60000);
+
+        coalescer.update("Power", "100");
+        runScheduledFlush();
+        coalescer.update("Power", "110");
+        runScheduledFlush();
+        ScheduledFuture<?> throttleFlush = scheduledFutures.get(scheduledFutures.size() - 1);
+
+        coalescer.update("Light", "ON");
+
+        verify(throttleFlush).cancel(false);
+        assertEquals(10L, scheduledDelays.get(scheduledDelays.size() - 1));
+        runScheduledFlush();
+        assertEquals(List.of("Power=100", "Light=ON"), sentUpdates);
+        // the throttled update is still sent when the interval has passed
+        assertTrue(scheduledDelays.get(scheduledDelays.size() - 1) > 50000);
+    }
+
+    @Test
+    public void updatesOfThrottledItemsDoNotRescheduleTheFlush() {
+        ItemUpdateCoalescer coalescer = createCoalescer(10, 60000);
+
+        coalescer.update("Power", "100");
+        runScheduledFlush();
+        coalescer.update("Power", "110");
+        runScheduledFlush();
+        int scheduled = scheduledFlushes.size();
+
+        coalescer.update("Power", "120");
+
+        assertEquals(scheduled, scheduledFlushes.size());
+        verify(scheduledFutures.get(scheduled - 1), never()).cancel(anyBoolean());
+    }
+
+    @Test
+    public void clearDiscardsPendingUpdates() {
+        ItemUpdateCoalescer coalescer = createCoalescer(250, 0);
+
+        coalescer.update("Light", "ON");
+        coalescer.clear();
+        runScheduledFlush();
+
+        assertTrue(sentUpdates.isEmpty());
+    }
+
+    private ItemUpdateCoalescer createCoalescer(long windowMillis, long minIntervalMillis) {
+        return new ItemUpdateCoalescer(scheduler, (itemName, itemState) -> sentUpdates.add(itemName + "=" + itemState),
+                windowMillis, minIntervalMillis);
+    }
+
+    private void runScheduledFlush() {
+        scheduledFlushes.get(scheduledFlushes.size() - 1).run();
+    }
+}